@@ -0,0 +1,126 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Borůvka's algorithm on a ForkJoinPool. Each round finds the cheapest
+ * outgoing edge of every component in parallel, contracts the components
+ * along those edges through a lock-free union-find and drops edges that
+ * became internal.
+ */
+public class BoruvkaMST {
+    private static final long NO_EDGE = Long.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+    private int comparisonCount;
+    private int assignmentCount;
+    private int rounds;
+
+    public BoruvkaMST() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BoruvkaMST(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public int getRounds() { return rounds; }
+
+    public MSTResult findMST(Graph graph) {
+        long startTime = System.nanoTime();
+        resetCounters();
+
+        int vertices = graph.getVerticesCount();
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+
+        int[] component = new int[vertices];
+        for (int v = 0; v < vertices; v++) component[v] = v;
+        AtomicLongArray cheapest = new AtomicLongArray(vertices);
+        ConcurrentDisjointSet components = new ConcurrentDisjointSet(vertices);
+
+        int edgeCount = graph.getEdgesCount();
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            sources[e] = graph.getEdgeSource(e);
+            destinations[e] = graph.getEdgeDestination(e);
+        }
+        long[] keys = EdgeKeys.pack(graph);
+
+        // Self-loops can never join the tree
+        int[] live = IntStream.range(0, edgeCount)
+                .filter(e -> sources[e] != destinations[e])
+                .toArray();
+        assignmentCount += vertices + 3 * edgeCount;
+
+        while (live.length > 0) {
+            rounds++;
+            int[] roots = IntStream.range(0, vertices).filter(v -> component[v] == v).toArray();
+            for (int root : roots) cheapest.set(root, NO_EDGE);
+
+            // Cheapest outgoing (weight, index) key per component, lowered by CAS
+            int[] edges = live;
+            parallel(() -> IntStream.range(0, edges.length).parallel().forEach(i -> {
+                int e = edges[i];
+                long key = keys[e];
+                lowerTo(cheapest, component[sources[e]], key);
+                lowerTo(cheapest, component[destinations[e]], key);
+            }));
+            comparisonCount += 2 * edges.length;
+
+            // Contract along the selected edges in parallel; an edge chosen by
+            // both of its components is only taken once since the second union fails
+            long[] taken = new long[roots.length];
+            parallel(() -> IntStream.range(0, roots.length).parallel().forEach(i -> {
+                long key = cheapest.get(roots[i]);
+                int e = EdgeKeys.edgeIndex(key);
+                taken[i] = key != NO_EDGE && components.union(sources[e], destinations[e]) ? key : NO_EDGE;
+            }));
+            comparisonCount += roots.length;
+
+            for (long key : taken) {
+                if (key == NO_EDGE) continue;
+                int e = EdgeKeys.edgeIndex(key);
+                int weight = EdgeKeys.weight(key);
+                mstEdges.add(new Edge(sources[e], destinations[e], weight));
+                totalCost += weight;
+                assignmentCount += 2;
+            }
+
+            parallel(() -> IntStream.range(0, vertices).parallel()
+                    .forEach(v -> component[v] = components.find(v)));
+            assignmentCount += vertices;
+
+            live = pool.submit(() -> Arrays.stream(edges).parallel()
+                    .filter(e -> component[sources[e]] != component[destinations[e]])
+                    .toArray()).join();
+            comparisonCount += edges.length;
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        int totalOperations = comparisonCount + assignmentCount;
+
+        return new MSTResult("Borůvka's Algorithm", mstEdges, totalCost,
+                executionTimeMs, totalOperations, vertices);
+    }
+
+    private static void lowerTo(AtomicLongArray cheapest, int index, long key) {
+        long current = cheapest.get(index);
+        while (key < current && !cheapest.compareAndSet(index, current, key)) {
+            current = cheapest.get(index);
+        }
+    }
+
+    private void parallel(Runnable task) {
+        pool.submit(task).join();
+    }
+
+    private void resetCounters() {
+        comparisonCount = 0;
+        assignmentCount = 0;
+        rounds = 0;
+    }
+}
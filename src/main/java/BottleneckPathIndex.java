@@ -0,0 +1,149 @@
+import java.util.*;
+
+/**
+ * Minimax path queries over a minimum spanning forest: the heaviest link on
+ * the best route between two stops, in O(1) per query.
+ *
+ * The index is a Kruskal reconstruction tree. Merging the forest's edges
+ * in weight order, every merge becomes an internal node that carries the
+ * merging weight and has the two merged parts as children, so the
+ * bottleneck between two vertices is the weight of their lowest common
+ * ancestor. Listing the vertices in DFS order of that tree, the LCA of two
+ * neighbours in the list is the node whose right subtree starts at the
+ * second one, and the bottleneck between any two vertices is the largest
+ * neighbour gap between them. A sparse table over the V - 1 gaps answers
+ * that range maximum with two lookups. Building is O(V log V).
+ */
+public class BottleneckPathIndex {
+    /** Returned by {@link #bottleneck} when the vertices lie in different trees */
+    public static final int NO_PATH = Integer.MAX_VALUE;
+
+    private final int vertices;
+    private final int[] position;   // vertex -> index in DFS order
+    private final int[] component;  // vertex -> tree id, contiguous in DFS order
+    private final int[][] gapMax;   // gapMax[k][i] = max of gaps i .. i + 2^k - 1
+    private final double buildTimeMs;
+
+    public BottleneckPathIndex(MSTResult mst) {
+        long startTime = System.nanoTime();
+        this.vertices = mst.getVertices();
+        List<Edge> edges = mst.getMstEdges();
+        int edgeCount = edges.size();
+
+        long[] order = new long[edgeCount];
+        int maxWeight = 0;
+        for (int i = 0; i < edgeCount; i++) {
+            int weight = edges.get(i).getWeight();
+            order[i] = EdgeKeys.pack(weight, i);
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        EdgeKeys.radixSort(order, maxWeight);
+
+        // Reconstruction tree: vertices are leaves 0..V-1, merge k is node V + k
+        int nodes = vertices + edgeCount;
+        int[] left = new int[edgeCount];
+        int[] right = new int[edgeCount];
+        int[] mergeWeight = new int[edgeCount];
+        boolean[] hasParent = new boolean[nodes];
+        int[] top = new int[vertices];  // union-find root -> topmost tree node of its part
+        for (int v = 0; v < vertices; v++) top[v] = v;
+        DisjointSet parts = new DisjointSet(vertices);
+        for (int k = 0; k < edgeCount; k++) {
+            Edge edge = edges.get(EdgeKeys.edgeIndex(order[k]));
+            int a = parts.find(edge.getSource());
+            int b = parts.find(edge.getDestination());
+            if (a == b) {
+                throw new IllegalArgumentException("MST edges contain a cycle at " + edge);
+            }
+            left[k] = top[a];
+            right[k] = top[b];
+            mergeWeight[k] = edge.getWeight();
+            hasParent[top[a]] = true;
+            hasParent[top[b]] = true;
+            parts.union(a, b);
+            top[parts.find(a)] = vertices + k;
+        }
+
+        // Iterative DFS, left child first; a right child passes its parent's weight
+        // to the first leaf it reaches as the gap to the previous leaf
+        this.position = new int[vertices];
+        this.component = new int[vertices];
+        int[] gaps = new int[Math.max(0, vertices - 1)];
+        int[] stack = new int[nodes];
+        int[] stackGap = new int[nodes];
+        int visited = 0;
+        for (int root = 0; root < nodes; root++) {
+            if (hasParent[root]) continue;
+            int size = 0;
+            stack[size] = root;
+            stackGap[size++] = Integer.MIN_VALUE;  // no gap across trees; never queried
+            while (size > 0) {
+                int node = stack[--size];
+                int gap = stackGap[size];
+                if (node < vertices) {
+                    if (visited > 0) gaps[visited - 1] = gap;
+                    position[node] = visited++;
+                    component[node] = root;
+                } else {
+                    int k = node - vertices;
+                    stack[size] = right[k];
+                    stackGap[size++] = mergeWeight[k];
+                    stack[size] = left[k];
+                    stackGap[size++] = gap;
+                }
+            }
+        }
+
+        int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(gaps.length));
+        this.gapMax = new int[levels][];
+        gapMax[0] = gaps;
+        for (int k = 1; k < levels; k++) {
+            int[] previous = gapMax[k - 1];
+            int half = 1 << (k - 1);
+            int[] current = new int[gaps.length - (1 << k) + 1];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = Math.max(previous[i], previous[i + half]);
+            }
+            gapMax[k] = current;
+        }
+        this.buildTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+    }
+
+    public int getVertices() { return vertices; }
+    public double getBuildTime() { return buildTimeMs; }
+
+    public boolean connected(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        return component[u] == component[v];
+    }
+
+    /**
+     * Largest edge weight on the forest path from u to v, Integer.MIN_VALUE
+     * when u == v, or {@link #NO_PATH} when u and v are in different trees.
+     */
+    public int bottleneck(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        if (component[u] != component[v]) return NO_PATH;
+        int from = position[u];
+        int to = position[v];
+        if (from > to) {
+            int swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from == to) return Integer.MIN_VALUE;
+
+        // Gaps from .. to - 1, covered by two overlapping power-of-two windows
+        int k = 31 - Integer.numberOfLeadingZeros(to - from);
+        int[] row = gapMax[k];
+        return Math.max(row[from], row[to - (1 << k)]);
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= vertices) {
+            throw new IllegalArgumentException("Invalid vertex index " + v);
+        }
+    }
+}
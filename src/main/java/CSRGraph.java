@@ -0,0 +1,91 @@
+/**
+ * Frozen compressed sparse row (CSR) representation of an undirected graph.
+ * Each undirected edge is stored once in the edge arrays and twice as a
+ * half-edge in the adjacency arrays, without allocating any Edge objects.
+ */
+public class CSRGraph {
+    final int vertices;
+
+    // Adjacency: half-edges of vertex v live in [offsets[v], offsets[v + 1])
+    final int[] offsets;
+    final int[] targets;
+    final int[] weights;
+    final int[] edgeIds;
+
+    // Edge list in insertion order
+    final int[] edgeSources;
+    final int[] edgeDestinations;
+    final int[] edgeWeights;
+
+    private CSRGraph(int vertices, int[] offsets, int[] targets, int[] weights, int[] edgeIds,
+                     int[] edgeSources, int[] edgeDestinations, int[] edgeWeights) {
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeIds = edgeIds;
+        this.edgeSources = edgeSources;
+        this.edgeDestinations = edgeDestinations;
+        this.edgeWeights = edgeWeights;
+    }
+
+    /**
+     * Builds the CSR arrays from a primitive edge list using a counting pass
+     * over vertex degrees. The edge arrays are taken over, not copied.
+     */
+    public static CSRGraph build(int vertices, int[] sources, int[] destinations, int[] edgeWeights) {
+        int edgeCount = sources.length;
+        int[] offsets = new int[vertices + 1];
+
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[sources[e] + 1]++;
+            offsets[destinations[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] cursor = new int[vertices];
+        System.arraycopy(offsets, 0, cursor, 0, vertices);
+
+        int[] targets = new int[2 * edgeCount];
+        int[] weights = new int[2 * edgeCount];
+        int[] edgeIds = new int[2 * edgeCount];
+
+        for (int e = 0; e < edgeCount; e++) {
+            int u = sources[e];
+            int v = destinations[e];
+            int w = edgeWeights[e];
+
+            int slot = cursor[u]++;
+            targets[slot] = v;
+            weights[slot] = w;
+            edgeIds[slot] = e;
+
+            slot = cursor[v]++;
+            targets[slot] = u;
+            weights[slot] = w;
+            edgeIds[slot] = e;
+        }
+
+        return new CSRGraph(vertices, offsets, targets, weights, edgeIds,
+                sources, destinations, edgeWeights);
+    }
+
+    public int getVertices() { return vertices; }
+    public int getEdges() { return edgeSources.length; }
+
+    public int getDegree(int vertex) { return offsets[vertex + 1] - offsets[vertex]; }
+
+    public Edge getEdge(int edgeId) {
+        return new Edge(edgeSources[edgeId], edgeDestinations[edgeId], edgeWeights[edgeId]);
+    }
+
+    /**
+     * Materializes the half-edge at the given slot as an Edge oriented
+     * away from the given vertex, matching the adjacency list layout.
+     */
+    public Edge getHalfEdge(int vertex, int slot) {
+        return new Edge(vertex, targets[slot], weights[slot]);
+    }
+}
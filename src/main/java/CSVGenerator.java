@@ -16,6 +16,7 @@ public class CSVGenerator {
         public InputStats input_stats;
         public AlgorithmResult prim;
         public AlgorithmResult kruskal;
+        public List<OutputSensitivity> sensitivity;
     }
 
     public static class InputStats {
@@ -36,15 +37,26 @@ public class CSVGenerator {
         public int weight;
     }
 
+    public static class OutputSensitivity {
+        public String from;
+        public String to;
+        public int weight;
+        public boolean in_mst;
+        public Integer removal_cost_increase;
+        public Integer min_weight;
+        public Integer max_weight;
+    }
+
     public static void main(String[] args) {
         try {
             String inputFile = "src/main/resources/output.json";
             String outputFile = "src/main/resources/results_analysis.csv";
             String summaryFile = "src/main/resources/summary_statistics.csv";
             String chartFile = "src/main/resources/chart_data.csv";
+            String sensitivityFile = "src/main/resources/sensitivity_analysis.csv";
 
             System.out.println("Generating CSV analysis from: " + inputFile);
-            generateCSV(inputFile, outputFile, summaryFile, chartFile);
+            generateCSV(inputFile, outputFile, summaryFile, chartFile, sensitivityFile);
             System.out.println("CSV files created successfully!");
 
         } catch (Exception e) {
@@ -54,12 +66,14 @@ public class CSVGenerator {
     }
 
     public static void generateCSV(String jsonFilePath, String csvFilePath,
-                                   String summaryFilePath, String chartFilePath) throws IOException {
+                                   String summaryFilePath, String chartFilePath,
+                                   String sensitivityFilePath) throws IOException {
         String content = new String(Files.readAllBytes(Paths.get(jsonFilePath)));
         OutputData outputData = mapper.readValue(content, OutputData.class);
 
         generateDetailedCSV(outputData, csvFilePath);
         generateSummaryCSV(outputData, summaryFilePath);
+        generateSensitivityCSV(outputData, sensitivityFilePath);
         generateChartData(outputData, chartFilePath);
         printStatistics(outputData);
     }
@@ -104,6 +118,29 @@ public class CSVGenerator {
                 opsDiff, primFaster, kruskalFaster, sizeCategory, density);
     }
 
+    // One row per edge; empty cells mean unbounded. Skipped for output without sensitivity data
+    private static void generateSensitivityCSV(OutputData outputData, String sensitivityFilePath) throws IOException {
+        if (outputData.results.stream().allMatch(r -> r.sensitivity == null)) return;
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(sensitivityFilePath))) {
+            writer.println("GraphID,From,To,Weight,InMST,RemovalCostIncrease,MinWeight,MaxWeight");
+            for (OutputResult result : outputData.results) {
+                if (result.sensitivity == null) continue;
+                for (OutputSensitivity edge : result.sensitivity) {
+                    writer.printf("%d,%s,%s,%d,%b,%s,%s,%s%n",
+                            result.graph_id, edge.from, edge.to, edge.weight, edge.in_mst,
+                            optional(edge.removal_cost_increase), optional(edge.min_weight),
+                            optional(edge.max_weight));
+                }
+            }
+        }
+        System.out.println("Sensitivity analysis: " + sensitivityFilePath);
+    }
+
+    private static String optional(Integer value) {
+        return value == null ? "" : value.toString();
+    }
+
     private static void generateSummaryCSV(OutputData outputData, String summaryFilePath) throws IOException {
         try (PrintWriter writer = new PrintWriter(new FileWriter(summaryFilePath))) {
             writer.println("SUMMARY STATISTICS");
@@ -0,0 +1,88 @@
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free disjoint set union over 0..n-1 for multi-threaded engines.
+ * Parents live in an AtomicIntegerArray: a union links one root under the
+ * other with a single CAS and retries if either root moved in between.
+ * Links follow a fixed random priority per element (randomized linking),
+ * which keeps trees shallow without the rank or size updates a second CAS
+ * would need. Finds compress with path halving; a failed halving CAS only
+ * means another thread already shortened the path, so finds never retry.
+ */
+public class ConcurrentDisjointSet {
+    private final AtomicIntegerArray parent;
+    private final int[] priority;
+    private final LongAdder links = new LongAdder();
+
+    public ConcurrentDisjointSet(int n) {
+        this(n, new Random().nextLong());
+    }
+
+    public ConcurrentDisjointSet(int n, long seed) {
+        this.parent = new AtomicIntegerArray(n);
+        this.priority = new int[n];
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+            priority[i] = random.nextInt();
+        }
+    }
+
+    public int find(int x) {
+        AtomicIntegerArray parent = this.parent;
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    /**
+     * Merges the sets containing x and y. Returns false if they were already
+     * joined; of several threads racing to join the same two sets, exactly one
+     * gets true.
+     */
+    public boolean union(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) return false;
+
+            // The lower priority root goes under the higher one
+            if (outranks(rootX, rootY)) {
+                int swap = rootX;
+                rootX = rootY;
+                rootY = swap;
+            }
+            if (parent.compareAndSet(rootX, rootX, rootY)) {
+                links.increment();
+                return true;
+            }
+        }
+    }
+
+    public boolean connected(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) return true;
+            // rootX still being a root means the two sets really were apart
+            if (parent.get(rootX) == rootX) return false;
+        }
+    }
+
+    public int getElementCount() { return parent.length(); }
+
+    // Exact once all unions have returned; a snapshot while they are running
+    public int getComponentCount() { return parent.length() - links.intValue(); }
+
+    private boolean outranks(int a, int b) {
+        return priority[a] > priority[b] || (priority[a] == priority[b] && a > b);
+    }
+}
@@ -0,0 +1,351 @@
+import java.util.*;
+
+/**
+ * Minimum spanning forest under edge deletions (road closures), seeded from
+ * a {@link Graph} and its {@link MSTResult}. Deleting a tree edge t leaves
+ * two trees, and the new forest takes the lightest non-tree edge across
+ * that cut. Deleting a non-tree edge is O(1).
+ *
+ * A replacement index holds that edge for every tree edge, so while the
+ * tree is unchanged a deletion or {@link #getReplacement} query is a
+ * lookup. The index is built by one sweep over the non-tree edges in
+ * (weight, id) order: each edge claims the still unclaimed tree edges on
+ * its path, and a union-find skips claimed stretches, so a build is
+ * O(V + E α(V)). The non-tree edges are sorted once up front and only ever
+ * leave that order, so rebuilds need no sort.
+ *
+ * Once a deletion has changed the tree the index is stale. Deletions then
+ * search the cut directly instead of paying for a rebuild: two BFS runs
+ * over the tree grow from both ends of t in lockstep until one side is
+ * exhausted, and only that smaller side's incident edges are scanned for
+ * the lightest crossing edge. Closing a road near the edge of the network
+ * therefore costs little no matter how large the graph is.
+ */
+public class DecrementalMST {
+    /** Returned when a deleted tree edge has no replacement and the tree splits */
+    public static final int NONE = -1;
+
+    private final int vertices;
+    private final int[] sources;
+    private final int[] destinations;
+    private final int[] weights;
+    private final boolean[] inTree;
+    private final boolean[] deleted;
+
+    // Non-tree edges of the seed in (weight, id) order; deleted or promoted entries are skipped
+    private final long[] nonTreeKeys;
+
+    private long totalCost;
+    private int treeEdgeCount;
+
+    // Replacement index: tree edge -> lightest covering non-tree edge
+    private final int[] replacement;
+    private final boolean[] usedAsReplacement;
+    private boolean indexStale = true;
+    private int indexBuilds;
+    private int operationCount;
+    private long updateTimeNanos;
+
+    // Every edge by endpoint, for the cut search; tree membership is checked per entry
+    private final int[] offsets;
+    private final int[] adjacentEdges;
+    private final int[] visited;     // search stamp per vertex, see findReplacement
+    private final int[][] queues;
+    private int searchStamp;
+
+    // Rooted forest from the last index build
+    private final int[] parent;
+    private final int[] parentEdge;
+    private final int[] depth;
+    private final int[] tree;
+    private final int[] jump;
+
+    public DecrementalMST(Graph graph, MSTResult mst) {
+        this.vertices = graph.getVerticesCount();
+        int edgeCount = graph.getEdgesCount();
+        this.sources = new int[edgeCount];
+        this.destinations = new int[edgeCount];
+        this.weights = new int[edgeCount];
+        this.inTree = new boolean[edgeCount];
+        this.deleted = new boolean[edgeCount];
+        this.replacement = new int[edgeCount];
+        this.usedAsReplacement = new boolean[edgeCount];
+
+        for (int e = 0; e < edgeCount; e++) {
+            sources[e] = graph.getEdgeSource(e);
+            destinations[e] = graph.getEdgeDestination(e);
+            weights[e] = graph.getEdgeWeight(e);
+        }
+        for (int id : mst.findEdgeIds(graph)) {
+            inTree[id] = true;
+            totalCost += weights[id];
+            treeEdgeCount++;
+        }
+
+        long[] keys = new long[edgeCount - treeEdgeCount];
+        int count = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (!inTree[e]) keys[count++] = EdgeKeys.pack(weights[e], e);
+        }
+        EdgeKeys.radixSort(keys, graph.getMaxWeight());
+        this.nonTreeKeys = keys;
+
+        this.parent = new int[vertices];
+        this.parentEdge = new int[vertices];
+        this.depth = new int[vertices];
+        this.tree = new int[vertices];
+        this.jump = new int[vertices];
+
+        this.offsets = new int[vertices + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[sources[e] + 1]++;
+            offsets[destinations[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) offsets[v + 1] += offsets[v];
+        int[] cursor = Arrays.copyOf(offsets, vertices);
+        this.adjacentEdges = new int[2 * edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            adjacentEdges[cursor[sources[e]]++] = e;
+            adjacentEdges[cursor[destinations[e]]++] = e;
+        }
+        this.visited = new int[vertices];
+        this.queues = new int[2][vertices];
+
+        buildIndexIfStale();
+    }
+
+    /**
+     * Closes an edge and returns the id of the edge that replaced it in the
+     * forest, or {@link #NONE} if it was a non-tree edge or its tree split.
+     */
+    public int deleteEdge(int edgeId) {
+        checkEdge(edgeId);
+        if (deleted[edgeId]) {
+            throw new IllegalArgumentException("Edge " + edgeId + " is already deleted");
+        }
+        deleted[edgeId] = true;
+
+        if (!inTree[edgeId]) {
+            if (usedAsReplacement[edgeId]) indexStale = true;
+            return NONE;
+        }
+
+        long start = System.nanoTime();
+        int replacedBy = indexStale ? findReplacement(edgeId) : replacement[edgeId];
+        inTree[edgeId] = false;
+        totalCost -= weights[edgeId];
+        treeEdgeCount--;
+
+        // Without a replacement no non-tree path crossed this edge, so the index stays valid
+        if (replacedBy != NONE) {
+            inTree[replacedBy] = true;
+            totalCost += weights[replacedBy];
+            treeEdgeCount++;
+            indexStale = true;
+        }
+        updateTimeNanos += System.nanoTime() - start;
+        return replacedBy;
+    }
+
+    /**
+     * The edge that would replace the given tree edge if it closed, or
+     * {@link #NONE} if closing it would split its tree. Rebuilds the index
+     * if the tree changed since the last build, so a batch of queries
+     * between deletions costs one build.
+     */
+    public int getReplacement(int treeEdgeId) {
+        checkEdge(treeEdgeId);
+        if (!inTree[treeEdgeId]) {
+            throw new IllegalArgumentException("Edge " + treeEdgeId + " is not a tree edge");
+        }
+        buildIndexIfStale();
+        return replacement[treeEdgeId];
+    }
+
+    public long getTotalCost() { return totalCost; }
+    public int getTreeEdgeCount() { return treeEdgeCount; }
+    public int getComponentCount() { return vertices - treeEdgeCount; }
+    public int getIndexBuildCount() { return indexBuilds; }
+    public int getOperationCount() { return operationCount; }
+    public boolean isTreeEdge(int edgeId) { checkEdge(edgeId); return inTree[edgeId]; }
+    public boolean isDeleted(int edgeId) { checkEdge(edgeId); return deleted[edgeId]; }
+
+    public List<Edge> getTreeEdges() {
+        List<Edge> treeEdges = new ArrayList<>(treeEdgeCount);
+        for (int e = 0; e < inTree.length; e++) {
+            if (inTree[e]) treeEdges.add(new Edge(sources[e], destinations[e], weights[e]));
+        }
+        return treeEdges;
+    }
+
+    /**
+     * Snapshot of the current forest. Time is the total spent on tree edge
+     * deletions; operations count the edges visited by index builds and cut
+     * searches. A cost past Integer.MAX_VALUE throws ArithmeticException;
+     * {@link #getTotalCost} is exact.
+     */
+    public MSTResult toMSTResult() {
+        return new MSTResult("Decremental MST", getTreeEdges(), Math.toIntExact(totalCost),
+                updateTimeNanos / 1_000_000.0, operationCount, vertices);
+    }
+
+    /**
+     * Lightest non-tree edge across the cut that removing tree edge t would
+     * make, found without the index. Both ends of t grow a BFS over tree
+     * edges other than t, one adjacency entry per turn; the side that runs
+     * out first is the smaller one, and only its edges are scanned.
+     * Non-tree edges never join two trees of a minimum spanning forest, so
+     * every edge leaving that side ends on the other half of t's tree.
+     */
+    private int findReplacement(int t) {
+        int stamp = searchStamp += 2;
+        int[] heads = new int[2];
+        int[] tails = new int[2];
+        int[] positions = new int[2];
+        int[] roots = {sources[t], destinations[t]};
+        for (int side = 0; side < 2; side++) {
+            queues[side][tails[side]++] = roots[side];
+            visited[roots[side]] = stamp + side;
+            positions[side] = offsets[roots[side]];
+        }
+
+        int side = 0;
+        while (true) {
+            if (!advance(side, t, stamp, heads, tails, positions)) break;
+            side ^= 1;
+        }
+
+        int[] queue = queues[side];
+        long best = Long.MAX_VALUE;
+        for (int q = 0; q < tails[side]; q++) {
+            int u = queue[q];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int e = adjacentEdges[i];
+                if (deleted[e] || inTree[e]) continue;
+                int v = sources[e] == u ? destinations[e] : sources[e];
+                if (visited[v] == stamp + side) continue;
+                best = Math.min(best, EdgeKeys.pack(weights[e], e));
+            }
+            operationCount += offsets[u + 1] - offsets[u];
+        }
+        return best == Long.MAX_VALUE ? NONE : EdgeKeys.edgeIndex(best);
+    }
+
+    /**
+     * Visits the next adjacency entry of one side's BFS. Returns false once
+     * that side has no entries left, i.e. its whole half of the tree is
+     * queued.
+     */
+    private boolean advance(int side, int t, int stamp, int[] heads, int[] tails, int[] positions) {
+        int[] queue = queues[side];
+        while (positions[side] == offsets[queue[heads[side]] + 1]) {
+            if (++heads[side] == tails[side]) return false;
+            positions[side] = offsets[queue[heads[side]]];
+        }
+        int u = queue[heads[side]];
+        int e = adjacentEdges[positions[side]++];
+        operationCount++;
+        if (e != t && inTree[e]) {
+            int v = sources[e] == u ? destinations[e] : sources[e];
+            if (visited[v] != stamp + side) {
+                visited[v] = stamp + side;
+                queue[tails[side]++] = v;
+            }
+        }
+        return true;
+    }
+
+    private void buildIndexIfStale() {
+        if (!indexStale) return;
+        rootForest();
+
+        Arrays.fill(replacement, NONE);
+        Arrays.fill(usedAsReplacement, false);
+        for (int v = 0; v < vertices; v++) jump[v] = v;
+
+        for (long key : nonTreeKeys) {
+            int e = EdgeKeys.edgeIndex(key);
+            if (deleted[e] || inTree[e]) continue;
+            int a = unclaimedAncestor(sources[e]);
+            int b = unclaimedAncestor(destinations[e]);
+            if (tree[a] != tree[b]) continue;
+
+            // Walk both ends up to their meeting point, claiming every edge passed
+            while (a != b) {
+                if (depth[a] < depth[b]) {
+                    int swap = a;
+                    a = b;
+                    b = swap;
+                }
+                replacement[parentEdge[a]] = e;
+                usedAsReplacement[e] = true;
+                jump[a] = parent[a];
+                a = unclaimedAncestor(a);
+            }
+        }
+        operationCount += vertices + nonTreeKeys.length;
+        indexStale = false;
+        indexBuilds++;
+    }
+
+    // Lowest vertex at or above v whose parent edge is not claimed yet
+    private int unclaimedAncestor(int v) {
+        while (jump[v] != v) {
+            jump[v] = jump[jump[v]];
+            v = jump[v];
+        }
+        return v;
+    }
+
+    /**
+     * Roots every tree of the current forest with an iterative BFS,
+     * recording parent, parent edge, depth and tree id per vertex.
+     */
+    private void rootForest() {
+        int[] offsets = new int[vertices + 1];
+        for (int e = 0; e < inTree.length; e++) {
+            if (!inTree[e]) continue;
+            offsets[sources[e] + 1]++;
+            offsets[destinations[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) offsets[v + 1] += offsets[v];
+        int[] cursor = Arrays.copyOf(offsets, vertices);
+        int[] adjacentEdges = new int[offsets[vertices]];
+        for (int e = 0; e < inTree.length; e++) {
+            if (!inTree[e]) continue;
+            adjacentEdges[cursor[sources[e]]++] = e;
+            adjacentEdges[cursor[destinations[e]]++] = e;
+        }
+
+        Arrays.fill(tree, NONE);
+        int[] queue = cursor; // reused, every vertex is queued exactly once
+        for (int root = 0; root < vertices; root++) {
+            if (tree[root] != NONE) continue;
+            tree[root] = root;
+            parent[root] = root;
+            parentEdge[root] = NONE;
+            depth[root] = 0;
+            int head = 0, tail = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int e = adjacentEdges[i];
+                    int v = sources[e] == u ? destinations[e] : sources[e];
+                    if (tree[v] != NONE) continue;
+                    tree[v] = root;
+                    parent[v] = u;
+                    parentEdge[v] = e;
+                    depth[v] = depth[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+    }
+
+    private void checkEdge(int edgeId) {
+        if (edgeId < 0 || edgeId >= deleted.length) {
+            throw new IllegalArgumentException("Invalid edge id " + edgeId);
+        }
+    }
+}
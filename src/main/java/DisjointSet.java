@@ -0,0 +1,89 @@
+import java.util.Arrays;
+
+/**
+ * Disjoint set union over 0..n-1 with iterative path halving and union by
+ * size. Arrays are reused across runs through {@link #reset(int)}.
+ * Operation counting for the analysis reports is opt-in, so the default
+ * instance does no bookkeeping on the hot path.
+ */
+public class DisjointSet {
+    private final boolean countOperations;
+    private int[] parent;
+    private int[] size;
+    private int elements;
+    private int components;
+    private int operationCount;
+
+    public DisjointSet(int n) {
+        this(n, false);
+    }
+
+    public DisjointSet(int n, boolean countOperations) {
+        this.countOperations = countOperations;
+        this.parent = new int[n];
+        this.size = new int[n];
+        reset(n);
+    }
+
+    /**
+     * Puts every element 0..n-1 back into its own set, growing the arrays
+     * only when n exceeds the current capacity.
+     */
+    public void reset(int n) {
+        if (n > parent.length) {
+            parent = new int[n];
+            size = new int[n];
+        }
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        Arrays.fill(size, 0, n, 1);
+        elements = n;
+        components = n;
+        operationCount = 0;
+    }
+
+    public int find(int x) {
+        int[] parent = this.parent;
+        while (parent[x] != x) {
+            // Path halving: point x at its grandparent and skip ahead
+            int grandparent = parent[parent[x]];
+            parent[x] = grandparent;
+            x = grandparent;
+            if (countOperations) operationCount++;
+        }
+        if (countOperations) operationCount++;
+        return x;
+    }
+
+    /**
+     * Merges the sets containing x and y. Returns false if they were already joined.
+     */
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+        if (rootX == rootY) return false;
+
+        if (size[rootX] < size[rootY]) {
+            int swap = rootX;
+            rootX = rootY;
+            rootY = swap;
+        }
+        parent[rootY] = rootX;
+        size[rootX] += size[rootY];
+        components--;
+        if (countOperations) operationCount++;
+        return true;
+    }
+
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    public int getSetSize(int x) { return size[find(x)]; }
+    public int getElementCount() { return elements; }
+    public int getComponentCount() { return components; }
+
+    // Finds, path-halving steps and links since the last reset; 0 unless counting is enabled
+    public int getOperationCount() { return operationCount; }
+}
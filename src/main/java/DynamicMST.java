@@ -0,0 +1,203 @@
+import java.util.*;
+
+/**
+ * Minimum spanning forest kept up to date under edge insertions and weight
+ * decreases, seeded from an {@link MSTResult}. The forest lives in a
+ * {@link LinkCutTree} where every edge is a node of its own carrying its
+ * packed (weight, id) key, so the heaviest edge on the cycle a new edge
+ * closes is one path-maximum query away. Each update costs amortized
+ * O(log V) instead of a full O(E log V) rebuild.
+ */
+public class DynamicMST {
+    private final int vertices;
+    private final LinkCutTree forest;
+
+    // Edge id -> endpoints and current weight; ids follow the graph's edge indices
+    private int[] sources;
+    private int[] destinations;
+    private int[] weights;
+    private boolean[] inTree;
+    private int edgeCount;
+
+    private long totalCost;
+    private int treeEdgeCount;
+    private int operationCount;
+    private long updateTimeNanos;
+
+    /**
+     * Seeds the structure with the tree edges only; they get ids 0..k-1 in
+     * the result's order.
+     */
+    public DynamicMST(MSTResult mst) {
+        this(mst.getVertices(), mst.getMstEdgesCount());
+        for (Edge edge : mst.getMstEdges()) {
+            link(register(edge.getSource(), edge.getDestination(), edge.getWeight()));
+        }
+    }
+
+    /**
+     * Seeds the structure with every edge of the graph, using the graph's
+     * edge indices as ids, and the tree edges of mst as the current forest.
+     * mst must be a minimum spanning forest of graph.
+     */
+    public DynamicMST(Graph graph, MSTResult mst) {
+        this(graph.getVerticesCount(), graph.getEdgesCount());
+
+        for (int e = 0; e < graph.getEdgesCount(); e++) {
+            register(graph.getEdgeSource(e), graph.getEdgeDestination(e), graph.getEdgeWeight(e));
+        }
+        for (int id : mst.findEdgeIds(graph)) {
+            link(id);
+        }
+    }
+
+    private DynamicMST(int vertices, int expectedEdges) {
+        this.vertices = vertices;
+        int capacity = Math.max(4, expectedEdges);
+        this.forest = new LinkCutTree(vertices + capacity);
+        for (int v = 0; v < vertices; v++) {
+            forest.addNode(Long.MIN_VALUE);
+        }
+        this.sources = new int[capacity];
+        this.destinations = new int[capacity];
+        this.weights = new int[capacity];
+        this.inTree = new boolean[capacity];
+    }
+
+    /**
+     * Adds an edge and returns its id. If it closes a cycle whose heaviest
+     * edge is heavier than the new one, that edge leaves the forest.
+     */
+    public int insertEdge(int u, int v, int weight) {
+        if (u < 0 || u >= vertices || v < 0 || v >= vertices) {
+            throw new IllegalArgumentException("Invalid vertex index");
+        }
+        checkWeight(weight);
+        long start = System.nanoTime();
+        int id = register(u, v, weight);
+        offer(id);
+        updateTimeNanos += System.nanoTime() - start;
+        return id;
+    }
+
+    /**
+     * Lowers the weight of an existing edge. A tree edge stays in the
+     * forest; a non-tree edge is offered to the forest like an insertion.
+     */
+    public void decreaseWeight(int edgeId, int weight) {
+        checkEdge(edgeId);
+        checkWeight(weight);
+        if (weight > weights[edgeId]) {
+            throw new IllegalArgumentException("New weight is greater than current weight");
+        }
+        long start = System.nanoTime();
+        if (inTree[edgeId]) {
+            totalCost += weight - weights[edgeId];
+            weights[edgeId] = weight;
+            forest.setValue(vertices + edgeId, EdgeKeys.pack(weight, edgeId));
+            operationCount++;
+        } else {
+            weights[edgeId] = weight;
+            offer(edgeId);
+        }
+        updateTimeNanos += System.nanoTime() - start;
+    }
+
+    public int getVertices() { return vertices; }
+    public int getEdgeCount() { return edgeCount; }
+    public long getTotalCost() { return totalCost; }
+    public int getTreeEdgeCount() { return treeEdgeCount; }
+
+    public int getEdgeSource(int edgeId) { checkEdge(edgeId); return sources[edgeId]; }
+    public int getEdgeDestination(int edgeId) { checkEdge(edgeId); return destinations[edgeId]; }
+    public int getEdgeWeight(int edgeId) { checkEdge(edgeId); return weights[edgeId]; }
+    public boolean isTreeEdge(int edgeId) { checkEdge(edgeId); return inTree[edgeId]; }
+
+    public boolean connected(int u, int v) {
+        return forest.connected(u, v);
+    }
+
+    public List<Edge> getTreeEdges() {
+        List<Edge> treeEdges = new ArrayList<>(treeEdgeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            if (inTree[e]) treeEdges.add(new Edge(sources[e], destinations[e], weights[e]));
+        }
+        return treeEdges;
+    }
+
+    /**
+     * Snapshot of the current forest. Time and operations are the totals
+     * over all updates since construction. Fails with ArithmeticException
+     * once the cost outgrows MSTResult's int, see {@link #getTotalCost}.
+     */
+    public MSTResult toMSTResult() {
+        return new MSTResult("Dynamic MST", getTreeEdges(), Math.toIntExact(totalCost),
+                updateTimeNanos / 1_000_000.0, operationCount, vertices);
+    }
+
+    private void offer(int edgeId) {
+        int u = sources[edgeId];
+        int v = destinations[edgeId];
+        if (u == v) return;
+
+        long key = EdgeKeys.pack(weights[edgeId], edgeId);
+        int heaviest = forest.pathMaxNode(u, v);
+        operationCount++;
+        if (heaviest == LinkCutTree.NONE) {
+            link(edgeId);
+        } else if (forest.getValue(heaviest) > key) {
+            cut(heaviest - vertices);
+            link(edgeId);
+        }
+    }
+
+    private void link(int edgeId) {
+        int node = vertices + edgeId;
+        forest.setValue(node, EdgeKeys.pack(weights[edgeId], edgeId));
+        forest.link(sources[edgeId], node);
+        forest.link(node, destinations[edgeId]);
+        inTree[edgeId] = true;
+        totalCost += weights[edgeId];
+        treeEdgeCount++;
+        operationCount += 2;
+    }
+
+    private void cut(int edgeId) {
+        int node = vertices + edgeId;
+        forest.cut(sources[edgeId], node);
+        forest.cut(node, destinations[edgeId]);
+        inTree[edgeId] = false;
+        totalCost -= weights[edgeId];
+        treeEdgeCount--;
+        operationCount += 2;
+    }
+
+    private int register(int u, int v, int weight) {
+        if (edgeCount == weights.length) {
+            int capacity = 2 * edgeCount;
+            sources = Arrays.copyOf(sources, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            inTree = Arrays.copyOf(inTree, capacity);
+        }
+        int id = edgeCount++;
+        sources[id] = u;
+        destinations[id] = v;
+        weights[id] = weight;
+        forest.addNode(Long.MIN_VALUE);
+        return id;
+    }
+
+    private void checkEdge(int edgeId) {
+        if (edgeId < 0 || edgeId >= edgeCount) {
+            throw new IllegalArgumentException("Invalid edge id " + edgeId);
+        }
+    }
+
+    // Packed (weight, id) keys only order correctly for non-negative weights
+    private static void checkWeight(int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Edge weight must be non-negative");
+        }
+    }
+}
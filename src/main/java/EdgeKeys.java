@@ -0,0 +1,90 @@
+import java.util.Arrays;
+
+/**
+ * Packed primitive edge keys: weight in the high 32 bits, edge index in the
+ * low 32 bits. Sorting the longs orders edges by weight and breaks ties by
+ * index, so every engine sees the same total order over the edges.
+ */
+public final class EdgeKeys {
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private EdgeKeys() {}
+
+    public static long pack(int weight, int edgeIndex) {
+        return ((long) weight << 32) | edgeIndex;
+    }
+
+    public static int weight(long key) { return (int) (key >>> 32); }
+    public static int edgeIndex(long key) { return (int) key; }
+
+    public static long[] pack(Graph graph) {
+        int edgeCount = graph.getEdgesCount();
+        long[] keys = new long[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            keys[e] = pack(graph.getEdgeWeight(e), e);
+        }
+        return keys;
+    }
+
+    /**
+     * Number of 8-bit LSD passes needed to sort weights up to maxWeight.
+     */
+    public static int radixPasses(int maxWeight) {
+        int bits = 32 - Integer.numberOfLeadingZeros(maxWeight);
+        return Math.max(1, (bits + RADIX_BITS - 1) / RADIX_BITS);
+    }
+
+    /**
+     * LSD radix sort on the weight half of the keys. Keys must be packed in
+     * ascending edge-index order; every pass is stable, so the index order
+     * survives as the tie-break without sorting the low 32 bits at all.
+     */
+    public static void radixSort(long[] keys, int maxWeight) {
+        radixSort(keys, 0, keys.length, maxWeight);
+    }
+
+    /**
+     * Radix sorts keys[from, to) in place; same stability contract as above.
+     */
+    public static void radixSort(long[] keys, int from, int to, int maxWeight) {
+        int n = to - from;
+        long[] buffer = new long[n];
+        int[] counts = new int[RADIX + 1];
+        int passes = radixPasses(maxWeight);
+
+        // Passes alternate keys[from, to) -> buffer -> keys[from, to) ...
+        long[] source = keys;
+        int sourceOffset = from;
+        long[] target = buffer;
+        int targetOffset = 0;
+
+        for (int pass = 0; pass < passes; pass++) {
+            int shift = 32 + pass * RADIX_BITS;
+            Arrays.fill(counts, 0);
+
+            for (int i = sourceOffset, end = sourceOffset + n; i < end; i++) {
+                counts[(int) ((source[i] >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            counts[0] = targetOffset;
+            for (int d = 0; d < RADIX; d++) {
+                counts[d + 1] += counts[d];
+            }
+            for (int i = sourceOffset, end = sourceOffset + n; i < end; i++) {
+                long key = source[i];
+                target[counts[(int) ((key >>> shift) & (RADIX - 1))]++] = key;
+            }
+
+            long[] swap = source;
+            source = target;
+            target = swap;
+            int swapOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = swapOffset;
+        }
+
+        if (source != keys) {
+            System.arraycopy(source, 0, keys, from, n);
+        }
+    }
+}
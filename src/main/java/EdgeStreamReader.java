@@ -0,0 +1,117 @@
+import java.io.*;
+
+/**
+ * Reads "source destination weight" edges one at a time from a text
+ * stream, one edge per line. Blank lines and lines starting with '#' are
+ * skipped. Numbers are parsed straight from a byte buffer, so reading
+ * allocates nothing per edge and the stream can be far larger than the
+ * heap.
+ */
+public class EdgeStreamReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long edgesRead;
+
+    private int source;
+    private int destination;
+    private int weight;
+
+    public EdgeStreamReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Advances to the next edge. Returns false at the end of the stream.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c < 0) return false;
+            if (c == '\n') {
+                position++;
+                line++;
+            } else if (c == ' ' || c == '\t' || c == '\r') {
+                position++;
+            } else if (c == '#') {
+                skipLine();
+            } else {
+                break;
+            }
+        }
+        source = readInt();
+        destination = readInt();
+        weight = readInt();
+
+        // Nothing but whitespace may follow on the same line
+        while (true) {
+            int c = peek();
+            if (c < 0 || c == '\n') break;
+            if (c != ' ' && c != '\t' && c != '\r') throw malformed();
+            position++;
+        }
+        edgesRead++;
+        return true;
+    }
+
+    public int getSource() { return source; }
+    public int getDestination() { return destination; }
+    public int getWeight() { return weight; }
+    public long getEdgesRead() { return edgesRead; }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int readInt() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\t') {
+            position++;
+            c = peek();
+        }
+        boolean negative = c == '-';
+        if (negative) {
+            position++;
+            c = peek();
+        }
+        if (c < '0' || c > '9') throw malformed();
+
+        long value = 0;
+        while (c >= '0' && c <= '9') {
+            value = 10 * value + (c - '0');
+            if (value > Integer.MAX_VALUE + 1L) throw malformed();
+            position++;
+            c = peek();
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) throw malformed();
+        return (int) value;
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = peek()) >= 0 && c != '\n') position++;
+    }
+
+    // Next byte without consuming it, or -1 at the end of the stream
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private IOException malformed() {
+        return new IOException("Malformed edge on line " + line);
+    }
+}
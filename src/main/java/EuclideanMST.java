@@ -0,0 +1,316 @@
+import java.util.*;
+
+/**
+ * Geometric MST for points given by coordinates, without building the
+ * complete graph. Candidate edges come from a Yao graph: around every point
+ * the plane is split into eight 45° cones and the point is joined to its
+ * nearest neighbour in each cone. Those at most 8V edges contain a
+ * Euclidean MST. For an MST edge pq, a nearer point r in the same cone
+ * would give |pr| <= |pq| and |qr| < |pq| because the cone is narrower than
+ * 60°, so pq would be the longest edge of triangle pqr. The candidates go
+ * through {@link KruskalMST} as a {@link Graph} built straight from
+ * primitive arrays.
+ *
+ * Nearest-in-cone searches run on a k-d tree, one traversal per point for
+ * all eight cones. A box is skipped once it is farther away than the best
+ * candidate of every cone it overlaps, so empty cones near the hull do not
+ * force a scan of the whole tree. Cones are measured with a diamond angle,
+ * which has the same 45° boundaries as atan2 without the trigonometry.
+ *
+ * Edge weights are distances rounded to the nearest integer, in the units
+ * of the coordinates, or in metres for {@link #findMSTLatLon}. Points whose
+ * candidate distances do not fit in an int are rejected.
+ */
+public class EuclideanMST {
+    public static final int CONES = 8;
+
+    private static final double EARTH_RADIUS_M = 6_371_000.0;
+    private static final int LEAF_SIZE = 8;
+    // Diamond angles lie in [0, 4); every cone is CONE_WIDTH of them
+    private static final double CONE_WIDTH = 4.0 / CONES;
+    private static final double ANGLE_EPSILON = 1e-9;
+
+    private int distanceCount;
+    private int candidateCount;
+
+    /**
+     * MST of planar points, weights rounded to whole coordinate units.
+     */
+    public MSTResult findMST(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+        }
+        for (int p = 0; p < x.length; p++) {
+            if (!Double.isFinite(x[p]) || !Double.isFinite(y[p])) {
+                throw new IllegalArgumentException("Coordinates of point " + p + " are not finite");
+            }
+        }
+        long startTime = System.nanoTime();
+        distanceCount = 0;
+        int vertices = x.length;
+
+        // nearest[p * CONES + c] = nearest point to p in cone c, or -1
+        int[] nearest = new int[vertices * CONES];
+        double[] distances = new double[vertices * CONES];
+        if (vertices > 1) {
+            KdTree tree = new KdTree(x, y);
+            double[] best = new double[CONES];
+            int[] closest = new int[CONES];
+            // Tree order keeps consecutive queries in the same region of the tree
+            for (int p : tree.points) {
+                tree.nearestPerCone(p, best, closest);
+                System.arraycopy(closest, 0, nearest, p * CONES, CONES);
+                System.arraycopy(best, 0, distances, p * CONES, CONES);
+            }
+        } else {
+            Arrays.fill(nearest, -1);
+        }
+
+        int[] sources = new int[nearest.length];
+        int[] destinations = new int[nearest.length];
+        int[] weights = new int[nearest.length];
+        int count = 0;
+        for (int p = 0; p < vertices; p++) {
+            for (int c = 0; c < CONES; c++) {
+                int q = nearest[p * CONES + c];
+                if (q < 0) continue;
+                // Mutual nearest neighbours: q already added the pair
+                if (q < p && nearest[q * CONES + cone(x[p] - x[q], y[p] - y[q])] == p) continue;
+                long weight = Math.round(Math.sqrt(distances[p * CONES + c]));
+                if (weight > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Distance between points " + p + " and " + q
+                            + " does not fit in an int weight");
+                }
+                sources[count] = p;
+                destinations[count] = q;
+                weights[count++] = (int) weight;
+            }
+        }
+        candidateCount = count;
+        Graph candidates = Graph.fromEdgeArrays(vertices, Arrays.copyOf(sources, count),
+                Arrays.copyOf(destinations, count), Arrays.copyOf(weights, count));
+
+        MSTResult kruskal = new KruskalMST().findMST(candidates);
+        double executionTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new MSTResult("Euclidean MST (Yao graph + Kruskal)", kruskal.getMstEdges(),
+                kruskal.getTotalCost(), executionTimeMs,
+                distanceCount + kruskal.getOperationsCount(), vertices);
+    }
+
+    /**
+     * MST of geo-located stops in degrees, weights in metres. Points are
+     * projected equirectangularly around their mean latitude, which keeps
+     * distances within a fraction of a percent over a city or region.
+     */
+    public MSTResult findMSTLatLon(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+        }
+        int vertices = latitudes.length;
+        double meanLatitude = 0;
+        for (double latitude : latitudes) meanLatitude += latitude;
+        meanLatitude = vertices == 0 ? 0 : meanLatitude / vertices;
+
+        double scaleX = EARTH_RADIUS_M * Math.cos(Math.toRadians(meanLatitude));
+        double[] x = new double[vertices];
+        double[] y = new double[vertices];
+        for (int v = 0; v < vertices; v++) {
+            x[v] = Math.toRadians(longitudes[v]) * scaleX;
+            y[v] = Math.toRadians(latitudes[v]) * EARTH_RADIUS_M;
+        }
+        return findMST(x, y);
+    }
+
+    public int getDistanceCount() { return distanceCount; }
+    public int getCandidateCount() { return candidateCount; }
+
+    /**
+     * Monotone stand-in for the angle of (dx, dy) in [0, 4), a quarter turn
+     * per unit, exact at multiples of 45°.
+     */
+    static double diamondAngle(double dx, double dy) {
+        if (dx == 0 && dy == 0) return 0;
+        if (dy >= 0) return dx >= 0 ? dy / (dx + dy) : 1 - dx / (dy - dx);
+        double angle = dx < 0 ? 2 - dy / (-dx - dy) : 3 + dx / (dx - dy);
+        return angle >= 4 ? 0 : angle;
+    }
+
+    private static int cone(double dx, double dy) {
+        return Math.min(CONES - 1, (int) (diamondAngle(dx, dy) / CONE_WIDTH));
+    }
+
+    /**
+     * Static k-d tree over the points with a bounding box per node. Nodes
+     * are numbered in build order and split at the median of the wider
+     * side.
+     */
+    private final class KdTree {
+        final double[] x;
+        final double[] y;
+        final int[] points;       // point ids, grouped by leaf
+        final double[] leafX, leafY;    // coordinates in the same order, scanned contiguously
+        final int[] from, to;     // node -> range in points
+        final int[] left, right;  // children, -1 for leaves
+        final double[] minX, maxX, minY, maxY;
+        final int[] stack;
+        int nodeCount;
+
+        KdTree(double[] x, double[] y) {
+            this.x = x;
+            this.y = y;
+            int n = x.length;
+            this.points = new int[n];
+            for (int i = 0; i < n; i++) points[i] = i;
+
+            int capacity = 2 * Math.max(1, (n + LEAF_SIZE - 1) / LEAF_SIZE) * 2;
+            from = new int[capacity];
+            to = new int[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            minX = new double[capacity];
+            maxX = new double[capacity];
+            minY = new double[capacity];
+            maxY = new double[capacity];
+            build(0, n);
+            stack = new int[nodeCount];
+            leafX = new double[n];
+            leafY = new double[n];
+            for (int i = 0; i < n; i++) {
+                leafX[i] = x[points[i]];
+                leafY[i] = y[points[i]];
+            }
+        }
+
+        private int build(int start, int end) {
+            int node = nodeCount++;
+            from[node] = start;
+            to[node] = end;
+            double lowX = Double.POSITIVE_INFINITY, highX = Double.NEGATIVE_INFINITY;
+            double lowY = Double.POSITIVE_INFINITY, highY = Double.NEGATIVE_INFINITY;
+            for (int i = start; i < end; i++) {
+                int p = points[i];
+                lowX = Math.min(lowX, x[p]);
+                highX = Math.max(highX, x[p]);
+                lowY = Math.min(lowY, y[p]);
+                highY = Math.max(highY, y[p]);
+            }
+            minX[node] = lowX;
+            maxX[node] = highX;
+            minY[node] = lowY;
+            maxY[node] = highY;
+
+            if (end - start <= LEAF_SIZE) {
+                left[node] = -1;
+                right[node] = -1;
+                return node;
+            }
+            int middle = (start + end) >>> 1;
+            select(start, end, middle, highX - lowX >= highY - lowY ? x : y);
+            left[node] = build(start, middle);
+            right[node] = build(middle, end);
+            return node;
+        }
+
+        // Quickselect: points[k] gets the k-th smallest coordinate, smaller ones before it
+        private void select(int start, int end, int k, double[] axis) {
+            int lo = start, hi = end - 1;
+            while (lo < hi) {
+                double pivot = axis[points[(lo + hi) >>> 1]];
+                int i = lo, j = hi;
+                while (i <= j) {
+                    while (axis[points[i]] < pivot) i++;
+                    while (axis[points[j]] > pivot) j--;
+                    if (i <= j) {
+                        int swap = points[i];
+                        points[i++] = points[j];
+                        points[j--] = swap;
+                    }
+                }
+                if (k <= j) hi = j;
+                else if (k >= i) lo = i;
+                else return;
+            }
+        }
+
+        /**
+         * Fills best (squared distance) and nearest (point id, -1 if the
+         * cone is empty) for every cone around point p.
+         */
+        void nearestPerCone(int p, double[] best, int[] nearest) {
+            Arrays.fill(best, Double.POSITIVE_INFINITY);
+            Arrays.fill(nearest, -1);
+            double px = x[p], py = y[p];
+
+            int size = 0;
+            stack[size++] = 0;
+            while (size > 0) {
+                int node = stack[--size];
+                double dx = Math.max(0, Math.max(minX[node] - px, px - maxX[node]));
+                double dy = Math.max(0, Math.max(minY[node] - py, py - maxY[node]));
+                double boxDistance = dx * dx + dy * dy;
+                if (boxDistance > 0) {
+                    // Cheap test against all cones first, the angular span only when that fails
+                    double worst = best[0];
+                    for (int c = 1; c < CONES; c++) worst = Math.max(worst, best[c]);
+                    if (boxDistance >= worst || boxDistance >= worstOverlappedCone(node, px, py, best)) continue;
+                }
+
+                if (left[node] < 0) {
+                    for (int i = from[node]; i < to[node]; i++) {
+                        int q = points[i];
+                        if (q == p) continue;
+                        double qx = leafX[i] - px, qy = leafY[i] - py;
+                        double distance = qx * qx + qy * qy;
+                        distanceCount++;
+                        int c = cone(qx, qy);
+                        if (distance < best[c] || (distance == best[c] && q < nearest[c])) {
+                            best[c] = distance;
+                            nearest[c] = q;
+                        }
+                    }
+                    continue;
+                }
+                // Nearer child on top of the stack
+                int l = left[node], r = right[node];
+                boolean leftFirst = boxDistance2(l, px, py) <= boxDistance2(r, px, py);
+                stack[size++] = leftFirst ? r : l;
+                stack[size++] = leftFirst ? l : r;
+            }
+        }
+
+        private double boxDistance2(int node, double px, double py) {
+            double dx = Math.max(0, Math.max(minX[node] - px, px - maxX[node]));
+            double dy = Math.max(0, Math.max(minY[node] - py, py - maxY[node]));
+            return dx * dx + dy * dy;
+        }
+
+        /**
+         * Largest current best among the cones the box overlaps, as seen
+         * from a point outside it. Its diamond-angle span is below half a
+         * turn and reached at the corners, widened slightly for rounding.
+         */
+        private double worstOverlappedCone(int node, double px, double py, double[] best) {
+            double base = diamondAngle(minX[node] - px, minY[node] - py);
+            double a = cornerOffset(maxX[node] - px, minY[node] - py, base);
+            double b = cornerOffset(minX[node] - px, maxY[node] - py, base);
+            double c = cornerOffset(maxX[node] - px, maxY[node] - py, base);
+            double low = Math.min(0, Math.min(a, Math.min(b, c)));
+            double high = Math.max(0, Math.max(a, Math.max(b, c)));
+            int first = (int) Math.floor((base + low - ANGLE_EPSILON) / CONE_WIDTH);
+            int last = (int) Math.floor((base + high + ANGLE_EPSILON) / CONE_WIDTH);
+            double worst = 0;
+            for (int cone = first; cone <= last; cone++) {
+                worst = Math.max(worst, best[Math.floorMod(cone, CONES)]);
+            }
+            return worst;
+        }
+
+        // Diamond angle of a corner relative to base, in (-2, 2]
+        private double cornerOffset(double dx, double dy, double base) {
+            double offset = diamondAngle(dx, dy) - base;
+            if (offset > 2) return offset - 4;
+            if (offset <= -2) return offset + 4;
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Kruskal for edge lists larger than the heap. Edges are read in runs that
+ * fit the memory budget. Each run is radix sorted by weight and spilled to
+ * a temp file through a {@link FileChannel}. The runs are then k-way merged
+ * with a {@link LongMinHeap}, and the merged order feeds the union-find
+ * directly. Only the union-find, the tree and the I/O buffers live in
+ * memory.
+ *
+ * Runs keep stream order for equal weights and the merge breaks ties by
+ * run, so the tree is the one {@link KruskalMST} picks with ties broken by
+ * edge index. Input that fits in a single run is sorted in memory and never
+ * touches disk. Both paths stop as soon as the tree spans the graph. When
+ * there are more runs than the budget has merge buffers for, consecutive
+ * groups are first merged into longer runs, over as many passes as needed.
+ */
+public class ExternalKruskalMST {
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    // On-disk record: weight, source, destination
+    private static final int RECORD_BYTES = 12;
+    // In-memory cost of one buffered edge: three ints, its key and the radix sort buffer
+    private static final int BUFFERED_EDGE_BYTES = 12 + 8 + 8;
+    private static final int MIN_MERGE_BUFFER = 4096 / RECORD_BYTES * RECORD_BYTES;
+    private static final int IO_BUFFER_BYTES = (1 << 20) / RECORD_BYTES * RECORD_BYTES;
+    // The spill buffer takes an eighth of the budget, up to IO_BUFFER_BYTES; at the
+    // minimum budget the other seven eighths still hold a run of 1024 edges
+    private static final long MIN_MEMORY_BUDGET = 32L << 10;
+
+    private final long memoryBudget;
+    private final Path tempDirectory;
+
+    // Statistics of the last run
+    private int runCount;
+    private int mergePassCount;
+    private long bytesWritten;
+    private long bytesRead;
+    private double spillTimeMs;
+    private double mergeTimeMs;
+    private int comparisonCount;
+    private int assignmentCount;
+
+    // Per-run tree being built, and every temp file created for it
+    private DisjointSet components;
+    private List<Edge> mstEdges;
+    private long totalCost;
+    private List<Path> tempFiles;
+
+    public ExternalKruskalMST() {
+        this(DEFAULT_MEMORY_BUDGET, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * memoryBudget bounds the run buffers, the spill buffer and the merge
+     * buffers in bytes, at least 32 KB. Runs are released before merging.
+     * The union-find and the tree come on top of it.
+     */
+    public ExternalKruskalMST(long memoryBudget, Path tempDirectory) {
+        if (memoryBudget < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("Memory budget must be at least " + MIN_MEMORY_BUDGET + " bytes");
+        }
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * MST of a text edge stream in the {@link EdgeStreamReader} format.
+     * The stream is left open. A forest costing more than Integer.MAX_VALUE
+     * throws ArithmeticException rather than a wrapped cost.
+     */
+    public MSTResult findMST(int vertices, InputStream in) throws IOException {
+        EdgeStreamReader reader = new EdgeStreamReader(in);
+        return findMST(vertices, new EdgeSource() {
+            public boolean next() throws IOException { return reader.next(); }
+            public int source() { return reader.getSource(); }
+            public int destination() { return reader.getDestination(); }
+            public int weight() { return reader.getWeight(); }
+        });
+    }
+
+    public MSTResult findMST(int vertices, Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return findMST(vertices, in);
+        }
+    }
+
+    /**
+     * MST of an in-memory graph through the same external path, mainly for
+     * comparison with {@link KruskalMST}.
+     */
+    public MSTResult findMST(Graph graph) throws IOException {
+        int edgeCount = graph.getEdgesCount();
+        return findMST(graph.getVerticesCount(), new EdgeSource() {
+            int e = -1;
+            public boolean next() { return ++e < edgeCount; }
+            public int source() { return graph.getEdgeSource(e); }
+            public int destination() { return graph.getEdgeDestination(e); }
+            public int weight() { return graph.getEdgeWeight(e); }
+        });
+    }
+
+    public int getRunCount() { return runCount; }
+    /** Intermediate passes that merged groups of runs into longer ones */
+    public int getMergePassCount() { return mergePassCount; }
+    public long getBytesWritten() { return bytesWritten; }
+    public long getBytesRead() { return bytesRead; }
+    public double getSpillTime() { return spillTimeMs; }
+    public double getMergeTime() { return mergeTimeMs; }
+    public long getMemoryBudget() { return memoryBudget; }
+    public Path getTempDirectory() { return tempDirectory; }
+
+    private interface EdgeSource {
+        boolean next() throws IOException;
+        int source();
+        int destination();
+        int weight();
+    }
+
+    private MSTResult findMST(int vertices, EdgeSource edges) throws IOException {
+        long startTime = System.nanoTime();
+        runCount = 0;
+        mergePassCount = 0;
+        bytesWritten = 0;
+        bytesRead = 0;
+        spillTimeMs = 0;
+        mergeTimeMs = 0;
+        comparisonCount = 0;
+        assignmentCount = 0;
+
+        int spillBytes = (int) Math.min(IO_BUFFER_BYTES, memoryBudget / 8 / RECORD_BYTES * RECORD_BYTES);
+        int runCapacity = (int) Math.min(Integer.MAX_VALUE - 8, (memoryBudget - spillBytes) / BUFFERED_EDGE_BYTES);
+        int[] sources = new int[Math.min(runCapacity, 1 << 16)];
+        int[] destinations = new int[sources.length];
+        int[] weights = new int[sources.length];
+
+        components = new DisjointSet(vertices);
+        mstEdges = new ArrayList<>(Math.max(0, vertices - 1));
+        totalCost = 0;
+        tempFiles = new ArrayList<>();
+        List<Path> runs = new ArrayList<>();
+        ByteBuffer spillBuffer = null;  // allocated on the first spill, then reused
+
+        try {
+            // Fill runs; buffers grow up to the run capacity
+            int size = 0;
+            boolean exhausted = false;
+            while (!exhausted) {
+                exhausted = !edges.next();
+                if (!exhausted) {
+                    int u = edges.source();
+                    int v = edges.destination();
+                    int w = edges.weight();
+                    if (u < 0 || u >= vertices || v < 0 || v >= vertices) {
+                        throw new IllegalArgumentException("Invalid vertex index");
+                    }
+                    if (w < 0) {
+                        throw new IllegalArgumentException("Negative weights are not supported");
+                    }
+                    if (size == sources.length) {
+                        int capacity = (int) Math.min(runCapacity, 2L * size);
+                        sources = Arrays.copyOf(sources, capacity);
+                        destinations = Arrays.copyOf(destinations, capacity);
+                        weights = Arrays.copyOf(weights, capacity);
+                    }
+                    sources[size] = u;
+                    destinations[size] = v;
+                    weights[size++] = w;
+                }
+                if (size == runCapacity || (exhausted && size > 0)) {
+                    long[] order = sortRun(weights, size);
+                    if (exhausted && runs.isEmpty()) {
+                        // Everything fit in one run: no disk at all
+                        for (int i = 0; i < order.length && components.getComponentCount() > 1; i++) {
+                            int e = EdgeKeys.edgeIndex(order[i]);
+                            offer(sources[e], destinations[e], weights[e]);
+                        }
+                    } else {
+                        if (spillBuffer == null) spillBuffer = ByteBuffer.allocateDirect(spillBytes);
+                        runs.add(spillRun(sources, destinations, weights, order, spillBuffer));
+                    }
+                    size = 0;
+                }
+            }
+            if (!runs.isEmpty()) {
+                // The run buffers are done with; the merge gets the budget to itself
+                sources = destinations = weights = null;
+                mergeRuns(runs, spillBuffer);
+            }
+        } finally {
+            for (Path file : tempFiles) Files.deleteIfExists(file);
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        return new MSTResult("External Kruskal", mstEdges, Math.toIntExact(totalCost),
+                executionTimeMs, comparisonCount + assignmentCount, vertices);
+    }
+
+    // Stable by position, so equal weights keep stream order
+    private long[] sortRun(int[] weights, int size) {
+        long[] order = new long[size];
+        int maxWeight = 0;
+        for (int i = 0; i < size; i++) {
+            order[i] = EdgeKeys.pack(weights[i], i);
+            maxWeight = Math.max(maxWeight, weights[i]);
+        }
+        EdgeKeys.radixSort(order, maxWeight);
+        return order;
+    }
+
+    private Path spillRun(int[] sources, int[] destinations, int[] weights, long[] order,
+                          ByteBuffer buffer) throws IOException {
+        long start = System.nanoTime();
+        Path run = createTempFile();
+        try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            for (long key : order) {
+                int e = EdgeKeys.edgeIndex(key);
+                if (buffer.remaining() < RECORD_BYTES) {
+                    bytesWritten += drain(buffer, channel);
+                }
+                buffer.putInt(weights[e]).putInt(sources[e]).putInt(destinations[e]);
+            }
+            bytesWritten += drain(buffer, channel);
+        }
+        runCount++;
+        spillTimeMs += (System.nanoTime() - start) / 1_000_000.0;
+        return run;
+    }
+
+    private Path createTempFile() throws IOException {
+        Path file = Files.createTempFile(tempDirectory, "kruskal-run-", ".bin");
+        tempFiles.add(file);
+        return file;
+    }
+
+    private static long drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        long written = 0;
+        while (buffer.hasRemaining()) written += channel.write(buffer);
+        buffer.clear();
+        return written;
+    }
+
+    /**
+     * Merges the runs smallest weight first into the union-find. With more
+     * runs than merge buffers fit in the budget, consecutive groups are
+     * merged into longer runs first; keeping groups in run order keeps ties
+     * in stream order.
+     */
+    private void mergeRuns(List<Path> runs, ByteBuffer spillBuffer) throws IOException {
+        long start = System.nanoTime();
+        long mergeBudget = memoryBudget - spillBuffer.capacity();
+        int maxFanIn = (int) Math.max(2, mergeBudget / MIN_MERGE_BUFFER);
+        while (runs.size() > maxFanIn) {
+            List<Path> longer = new ArrayList<>();
+            for (int from = 0; from < runs.size(); from += maxFanIn) {
+                List<Path> group = runs.subList(from, Math.min(runs.size(), from + maxFanIn));
+                Path merged = createTempFile();
+                try (FileChannel channel = FileChannel.open(merged, StandardOpenOption.WRITE)) {
+                    merge(group, mergeBudget, (weight, source, destination) -> {
+                        if (spillBuffer.remaining() < RECORD_BYTES) bytesWritten += drain(spillBuffer, channel);
+                        spillBuffer.putInt(weight).putInt(source).putInt(destination);
+                        return true;
+                    });
+                    bytesWritten += drain(spillBuffer, channel);
+                }
+                for (Path run : group) Files.deleteIfExists(run);
+                longer.add(merged);
+            }
+            runs = longer;
+            mergePassCount++;
+        }
+        merge(runs, mergeBudget, (weight, source, destination) -> {
+            offer(source, destination, weight);
+            return components.getComponentCount() > 1;
+        });
+        mergeTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    // Receives merged records in order; returning false ends the merge
+    private interface RecordSink {
+        boolean accept(int weight, int source, int destination) throws IOException;
+    }
+
+    /**
+     * One k-way merge. Heap keys pack (weight, run), so ties go to the
+     * earlier run. The read buffers share bufferBudget, which the fan-in
+     * cap keeps at MIN_MERGE_BUFFER or more per run.
+     */
+    private void merge(List<Path> runs, long bufferBudget, RecordSink sink) throws IOException {
+        int k = runs.size();
+        int bufferSize = (int) Math.max(MIN_MERGE_BUFFER,
+                Math.min(IO_BUFFER_BYTES, bufferBudget / k / RECORD_BYTES * RECORD_BYTES));
+
+        RunCursor[] cursors = new RunCursor[k];
+        LongMinHeap heap = new LongMinHeap(k);
+        try {
+            for (int r = 0; r < k; r++) {
+                cursors[r] = new RunCursor(FileChannel.open(runs.get(r), StandardOpenOption.READ), bufferSize);
+                if (cursors[r].advance()) heap.add(EdgeKeys.pack(cursors[r].weight, r));
+            }
+            boolean more = true;
+            while (more && !heap.isEmpty()) {
+                int r = EdgeKeys.edgeIndex(heap.poll());
+                RunCursor cursor = cursors[r];
+                more = sink.accept(cursor.weight, cursor.source, cursor.destination);
+                if (cursor.advance()) heap.add(EdgeKeys.pack(cursor.weight, r));
+                comparisonCount++;
+            }
+        } finally {
+            for (RunCursor cursor : cursors) {
+                if (cursor != null) {
+                    bytesRead += cursor.bytesRead;
+                    cursor.channel.close();
+                }
+            }
+        }
+    }
+
+    private void offer(int u, int v, int weight) {
+        comparisonCount++;
+        if (components.union(u, v)) {
+            mstEdges.add(new Edge(u, v, weight));
+            totalCost += weight;
+            assignmentCount += 2;
+        }
+    }
+
+    /**
+     * Sequential reader over one spilled run.
+     */
+    private static final class RunCursor {
+        final FileChannel channel;
+        final ByteBuffer buffer;
+        long bytesRead;
+        int weight;
+        int source;
+        int destination;
+
+        RunCursor(FileChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            buffer.flip();  // start empty
+        }
+
+        boolean advance() throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                buffer.compact();
+                int n;
+                while (buffer.hasRemaining() && (n = channel.read(buffer)) > 0) {
+                    bytesRead += n;
+                }
+                buffer.flip();
+                if (buffer.remaining() < RECORD_BYTES) return false;
+            }
+            weight = buffer.getInt();
+            source = buffer.getInt();
+            destination = buffer.getInt();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.Arrays;
+
+/**
+ * Maximum edge key on the path between two vertices of a forest, answered
+ * in O(log V) by binary lifting. Keys are longs, so callers can pass plain
+ * weights or packed (weight, index) keys from {@link EdgeKeys}.
+ */
+public class ForestPathMax {
+    /** Returned by {@link #pathMax} when the vertices lie in different trees */
+    public static final long NO_PATH = Long.MAX_VALUE;
+
+    private final int[] tree;      // vertex -> id of its tree (the BFS root)
+    private final int[] depth;
+    private final int levels;
+    // Vertex-major tables, so one vertex's jumps share cache lines:
+    // up[v * levels + k] = 2^k-th ancestor of v, maxUp[...] = max key on the 2^k edges above v
+    private final int[] up;
+    private final long[] maxUp;
+
+    /**
+     * Builds the index over the first edgeCount edges of the arrays, which
+     * must form a forest on vertices 0..vertices-1.
+     */
+    public ForestPathMax(int vertices, int[] sources, int[] destinations, long[] keys, int edgeCount) {
+        int[] offsets = new int[vertices + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[sources[e] + 1]++;
+            offsets[destinations[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) offsets[v + 1] += offsets[v];
+        int[] cursor = Arrays.copyOf(offsets, vertices);
+        int[] adjacentEdges = new int[2 * edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            adjacentEdges[cursor[sources[e]]++] = e;
+            adjacentEdges[cursor[destinations[e]]++] = e;
+        }
+
+        int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(vertices));
+        this.levels = levels;
+        this.tree = new int[vertices];
+        this.depth = new int[vertices];
+        this.up = new int[vertices * levels];
+        this.maxUp = new long[vertices * levels];
+
+        // Iterative BFS from every unvisited vertex; long paths cannot overflow the stack
+        Arrays.fill(tree, -1);
+        int[] queue = new int[vertices];
+        int head = 0, tail = 0;  // shared by all trees, so queue ends up as one BFS order
+        for (int root = 0; root < vertices; root++) {
+            if (tree[root] >= 0) continue;
+            tree[root] = root;
+            up[root * levels] = root;
+            maxUp[root * levels] = Long.MIN_VALUE;
+            queue[tail++] = root;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int e = adjacentEdges[i];
+                    int v = sources[e] == u ? destinations[e] : sources[e];
+                    if (tree[v] >= 0) continue;
+                    tree[v] = root;
+                    depth[v] = depth[u] + 1;
+                    up[v * levels] = u;
+                    maxUp[v * levels] = keys[e];
+                    queue[tail++] = v;
+                }
+            }
+        }
+
+        // BFS order puts every ancestor first, so its whole column is ready
+        for (int i = 0; i < vertices; i++) {
+            int v = queue[i];
+            int base = v * levels;
+            for (int k = 1; k < levels; k++) {
+                int mid = up[base + k - 1];
+                up[base + k] = up[mid * levels + k - 1];
+                maxUp[base + k] = Math.max(maxUp[base + k - 1], maxUp[mid * levels + k - 1]);
+            }
+        }
+    }
+
+    public boolean connected(int u, int v) {
+        return tree[u] == tree[v];
+    }
+
+    /**
+     * Largest key on the tree path from u to v, Long.MIN_VALUE when u == v,
+     * or {@link #NO_PATH} when u and v are in different trees.
+     */
+    public long pathMax(int u, int v) {
+        if (tree[u] != tree[v]) return NO_PATH;
+
+        long max = Long.MIN_VALUE;
+        if (depth[u] < depth[v]) {
+            int swap = u;
+            u = v;
+            v = swap;
+        }
+        for (int k = 0, lift = depth[u] - depth[v]; lift > 0; k++, lift >>>= 1) {
+            if ((lift & 1) != 0) {
+                max = Math.max(max, maxUp[u * levels + k]);
+                u = up[u * levels + k];
+            }
+        }
+        if (u == v) return max;
+
+        for (int k = levels - 1; k >= 0; k--) {
+            int uk = u * levels + k;
+            int vk = v * levels + k;
+            if (up[uk] != up[vk]) {
+                max = Math.max(max, Math.max(maxUp[uk], maxUp[vk]));
+                u = up[uk];
+                v = up[vk];
+            }
+        }
+        return Math.max(max, Math.max(maxUp[u * levels], maxUp[v * levels]));
+    }
+}
@@ -5,11 +5,28 @@ import java.nio.file.*;
 /**
  * Represents a graph using an adjacency list structure.
  * Supports creation, traversal, and JSON-based initialization.
+ * Once loading is finished the graph can be compacted into a frozen
+ * CSR representation, see {@link #compact()}.
  */
 public class Graph {
     private final int vertices;
-    private final List<Edge> edges;
-    private final List<List<Edge>> adjacencyList;
+    private List<Edge> edges;
+    private List<List<Edge>> adjacencyList;
+    private CSRGraph csr;
+    private int minWeight = Integer.MAX_VALUE;
+    private int maxWeight = Integer.MIN_VALUE;
+
+    // Cached component labels, dropped by addEdge
+    private int[] componentLabels;
+    private int componentCount;
+
+    /**
+     * Primitive callback for allocation-free neighbor iteration.
+     */
+    @FunctionalInterface
+    public interface NeighborVisitor {
+        void visit(int neighbor, int weight);
+    }
 
     public Graph(int vertices) {
         this.vertices = vertices;
@@ -21,56 +38,274 @@ public class Graph {
         }
     }
 
+    // Already compact: no Edge lists are ever built
+    private Graph(CSRGraph csr, int minWeight, int maxWeight) {
+        this.vertices = csr.getVertices();
+        this.csr = csr;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Creates a compacted graph straight from primitive edge arrays, without
+     * Edge objects. Edge i joins sources[i] and destinations[i]; the arrays
+     * are taken over, not copied.
+     */
+    public static Graph fromEdgeArrays(int vertices, int[] sources, int[] destinations, int[] weights) {
+        if (sources.length != destinations.length || sources.length != weights.length) {
+            throw new IllegalArgumentException("Edge arrays differ in length");
+        }
+        int minWeight = Integer.MAX_VALUE;
+        int maxWeight = Integer.MIN_VALUE;
+        for (int e = 0; e < sources.length; e++) {
+            if (sources[e] < 0 || sources[e] >= vertices || destinations[e] < 0 || destinations[e] >= vertices) {
+                throw new IllegalArgumentException("Invalid vertex index");
+            }
+            if (weights[e] < 0) {
+                throw new IllegalArgumentException("Edge weight must be non-negative");
+            }
+            minWeight = Math.min(minWeight, weights[e]);
+            maxWeight = Math.max(maxWeight, weights[e]);
+        }
+        return new Graph(CSRGraph.build(vertices, sources, destinations, weights), minWeight, maxWeight);
+    }
+
     public void addEdge(int source, int destination, int weight) {
+        if (csr != null) {
+            throw new IllegalStateException("Cannot add edges to a compacted graph");
+        }
         if (source < 0 || source >= vertices || destination < 0 || destination >= vertices) {
             throw new IllegalArgumentException("Invalid vertex index");
         }
 
         Edge edge = new Edge(source, destination, weight);
+        minWeight = Math.min(minWeight, weight);
+        maxWeight = Math.max(maxWeight, weight);
         edges.add(edge);
         adjacencyList.get(source).add(edge);
         adjacencyList.get(destination).add(new Edge(destination, source, weight));
+        componentLabels = null;
+    }
+
+    /**
+     * Freezes the graph into primitive CSR arrays and releases the Edge
+     * object lists. Further calls to addEdge are rejected.
+     */
+    public void compact() {
+        if (csr != null) return;
+
+        csr = toCSR();
+        edges = null;
+        adjacencyList = null;
     }
 
+    /**
+     * Returns the CSR arrays, building a transient copy when the graph has
+     * not been compacted yet. The graph itself is left unchanged.
+     */
+    public CSRGraph toCSR() {
+        if (csr != null) return csr;
+
+        int edgeCount = edges.size();
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = edges.get(i);
+            sources[i] = edge.getSource();
+            destinations[i] = edge.getDestination();
+            weights[i] = edge.getWeight();
+        }
+        return CSRGraph.build(vertices, sources, destinations, weights);
+    }
+
+    public boolean isCompact() { return csr != null; }
+
+    /**
+     * Returns the frozen CSR arrays, or null if the graph has not been compacted.
+     */
+    public CSRGraph getCSR() { return csr; }
+
     // These methods replace getVerticesCount() and getEdgesCount()
     public int getVertices() { return vertices; }
-    public int getEdges() { return edges.size(); }
+    public int getEdges() { return getEdgesCount(); }
 
     // Added for backward compatibility
     public int getVerticesCount() { return vertices; }
-    public int getEdgesCount() { return edges.size(); }
+    public int getEdgesCount() { return csr != null ? csr.getEdges() : edges.size(); }
 
-    public List<Edge> getEdgesList() { return new ArrayList<>(edges); }
+    public List<Edge> getEdgesList() {
+        if (csr == null) return new ArrayList<>(edges);
+
+        List<Edge> result = new ArrayList<>(csr.getEdges());
+        for (int e = 0; e < csr.getEdges(); e++) {
+            result.add(csr.getEdge(e));
+        }
+        return result;
+    }
 
     public List<Edge> getAdjacentEdges(int vertex) {
         if (vertex < 0 || vertex >= vertices) {
             throw new IllegalArgumentException("Invalid vertex index");
         }
-        return new ArrayList<>(adjacencyList.get(vertex));
+        if (csr == null) return new ArrayList<>(adjacencyList.get(vertex));
+
+        List<Edge> result = new ArrayList<>(csr.getDegree(vertex));
+        for (int slot = csr.offsets[vertex]; slot < csr.offsets[vertex + 1]; slot++) {
+            result.add(csr.getHalfEdge(vertex, slot));
+        }
+        return result;
+    }
+
+    // Weight range tracked while loading; both are 0 for a graph without edges
+    public int getMinWeight() { return getEdgesCount() == 0 ? 0 : minWeight; }
+    public int getMaxWeight() { return getEdgesCount() == 0 ? 0 : maxWeight; }
+
+    /**
+     * Edge density E / (V(V-1)/2), as used by the density buckets in the reports.
+     */
+    public double getDensity() {
+        if (vertices <= 1) return 0;
+        double maxPossibleEdges = vertices * (vertices - 1.0) / 2;
+        return getEdgesCount() / maxPossibleEdges;
+    }
+
+    // Index-based accessors: no copies, no Edge allocation on the CSR path
+
+    public int getDegree(int vertex) {
+        return csr != null ? csr.getDegree(vertex) : adjacencyList.get(vertex).size();
+    }
+
+    public int getNeighbor(int vertex, int index) {
+        return csr != null ? csr.targets[csr.offsets[vertex] + index]
+                : adjacencyList.get(vertex).get(index).getDestination();
+    }
+
+    public int getNeighborWeight(int vertex, int index) {
+        return csr != null ? csr.weights[csr.offsets[vertex] + index]
+                : adjacencyList.get(vertex).get(index).getWeight();
     }
 
     /**
-     * Checks if the graph is fully connected using DFS.
+     * Returns the index-th adjacent edge of a vertex, oriented away from it.
+     * The stored instance is returned before compaction, so nothing is copied.
      */
+    public Edge getAdjacentEdge(int vertex, int index) {
+        return csr != null ? csr.getHalfEdge(vertex, csr.offsets[vertex] + index)
+                : adjacencyList.get(vertex).get(index);
+    }
+
+    public void forEachNeighbor(int vertex, NeighborVisitor visitor) {
+        if (csr != null) {
+            for (int slot = csr.offsets[vertex]; slot < csr.offsets[vertex + 1]; slot++) {
+                visitor.visit(csr.targets[slot], csr.weights[slot]);
+            }
+        } else {
+            List<Edge> adjacent = adjacencyList.get(vertex);
+            for (int i = 0, n = adjacent.size(); i < n; i++) {
+                Edge edge = adjacent.get(i);
+                visitor.visit(edge.getDestination(), edge.getWeight());
+            }
+        }
+    }
+
+    public int getEdgeSource(int edgeIndex) {
+        return csr != null ? csr.edgeSources[edgeIndex] : edges.get(edgeIndex).getSource();
+    }
+
+    public int getEdgeDestination(int edgeIndex) {
+        return csr != null ? csr.edgeDestinations[edgeIndex] : edges.get(edgeIndex).getDestination();
+    }
+
+    public int getEdgeWeight(int edgeIndex) {
+        return csr != null ? csr.edgeWeights[edgeIndex] : edges.get(edgeIndex).getWeight();
+    }
+
     public boolean isConnected() {
-        if (vertices == 0) return true;
+        return getComponentCount() <= 1;
+    }
+
+    public int getComponentCount() {
+        labelComponents();
+        return componentCount;
+    }
+
+    /**
+     * Component of the vertex; components are numbered 0, 1, ... in order
+     * of their lowest vertex.
+     */
+    public int getComponent(int vertex) {
+        return labelComponents()[vertex];
+    }
 
-        boolean[] visited = new boolean[vertices];
-        int visitedCount = dfs(0, visited);
-        return visitedCount == vertices;
+    public int[] getComponentLabels() {
+        return labelComponents().clone();
     }
 
-    private int dfs(int vertex, boolean[] visited) {
-        visited[vertex] = true;
-        int count = 1;
+    /**
+     * Labels the components with an iterative traversal, so long path-like
+     * graphs cannot overflow the stack. A bitset of unvisited vertices is
+     * both the visited test and the source of the next root, found a word at
+     * a time. The labels are cached until the next addEdge.
+     */
+    private int[] labelComponents() {
+        if (componentLabels != null) return componentLabels;
+
+        int[] labels = new int[vertices];
+        long[] unvisited = new long[(vertices + 63) >>> 6];
+        Arrays.fill(unvisited, -1L);
+        if ((vertices & 63) != 0) {
+            unvisited[unvisited.length - 1] = (1L << (vertices & 63)) - 1;
+        }
+
+        int[] stack = new int[vertices];
+        int components = 0;
+        for (int word = 0; word < unvisited.length; word++) {
+            while (unvisited[word] != 0) {
+                int root = (word << 6) + Long.numberOfTrailingZeros(unvisited[word]);
+                unvisited[word] &= unvisited[word] - 1;
+                labels[root] = components;
+                int top = 0;
+                stack[top++] = root;
 
-        for (Edge edge : adjacencyList.get(vertex)) {
-            int neighbor = edge.getDestination();
-            if (!visited[neighbor]) {
-                count += dfs(neighbor, visited);
+                while (top > 0) {
+                    int vertex = stack[--top];
+                    for (int i = 0, degree = getDegree(vertex); i < degree; i++) {
+                        int neighbor = getNeighbor(vertex, i);
+                        long bit = 1L << neighbor;
+                        if ((unvisited[neighbor >>> 6] & bit) != 0) {
+                            unvisited[neighbor >>> 6] &= ~bit;
+                            labels[neighbor] = components;
+                            stack[top++] = neighbor;
+                        }
+                    }
+                }
+                components++;
             }
         }
-        return count;
+
+        componentCount = components;
+        componentLabels = labels;
+        return labels;
+    }
+
+    /**
+     * Random connected graph for tests and benchmarks: a random spanning
+     * tree plus random extra edges, weights drawn from 1..maxWeight.
+     */
+    public static Graph randomConnected(int vertices, int edges, int maxWeight, Random random) {
+        Graph graph = new Graph(vertices);
+        for (int v = 1; v < vertices; v++) {
+            graph.addEdge(random.nextInt(v), v, 1 + random.nextInt(maxWeight));
+        }
+        for (int e = vertices - 1; e < edges; e++) {
+            int u = random.nextInt(vertices);
+            int v = random.nextInt(vertices);
+            if (u == v) v = (v + 1) % vertices;
+            graph.addEdge(u, v, 1 + random.nextInt(maxWeight));
+        }
+        return graph;
     }
 
     /**
@@ -113,6 +348,6 @@ public class Graph {
 
     @Override
     public String toString() {
-        return String.format("Graph(V=%d, E=%d)", vertices, edges.size());
+        return String.format("Graph(V=%d, E=%d)", vertices, getEdgesCount());
     }
 }
\ No newline at end of file
@@ -127,11 +127,10 @@ public class GraphVisualizer {
 
         // Collect all unique edges
         for (int i = 0; i < vertices; i++) {
-            List<Edge> adjacentEdges = graph.getAdjacentEdges(i);
-            for (Edge edge : adjacentEdges) {
+            for (int j = 0, degree = graph.getDegree(i); j < degree; j++) {
                 // Add only if source < destination to avoid duplicates
-                if (edge.getSource() <= edge.getDestination()) {
-                    allEdges.add(edge);
+                if (i <= graph.getNeighbor(i, j)) {
+                    allEdges.add(graph.getAdjacentEdge(i, j));
                 }
             }
         }
@@ -141,9 +140,8 @@ public class GraphVisualizer {
     // Helper method to calculate the total weight of all edges
     private static int calculateTotalWeight(Graph graph) {
         int totalWeight = 0;
-        List<Edge> edges = getAllEdges(graph);
-        for (Edge edge : edges) {
-            totalWeight += edge.getWeight();
+        for (int i = 0; i < graph.getEdgesCount(); i++) {
+            totalWeight += graph.getEdgeWeight(i);
         }
         return totalWeight;
     }
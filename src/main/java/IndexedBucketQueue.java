@@ -0,0 +1,93 @@
+import java.util.Arrays;
+
+/**
+ * Indexed bucket priority queue for small integer key ranges.
+ * Each key in [minKey, maxKey] owns a doubly linked bucket of vertices,
+ * so insert and decrease-key are O(1) and poll only scans empty buckets.
+ * Keys do not have to be monotone: the scan cursor moves back whenever a
+ * smaller key is inserted, which Prim needs since its keys are not monotone.
+ */
+public class IndexedBucketQueue implements IndexedPriorityQueue {
+    private static final int NONE = -1;
+
+    private final int minKey;
+    private final int[] head;   // bucket -> first vertex
+    private final int[] next;   // vertex -> next vertex in bucket
+    private final int[] prev;   // vertex -> previous vertex in bucket
+    private final int[] keys;   // vertex -> current key
+    private final boolean[] queued;
+    private int cursor;         // no non-empty bucket below this index
+    private int size;
+
+    public IndexedBucketQueue(int capacity, int minKey, int maxKey) {
+        if (maxKey < minKey) {
+            throw new IllegalArgumentException("Key range is empty");
+        }
+        this.minKey = minKey;
+        this.head = new int[maxKey - minKey + 1];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.keys = new int[capacity];
+        this.queued = new boolean[capacity];
+        Arrays.fill(head, NONE);
+        this.cursor = head.length;
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+    public boolean contains(int vertex) { return queued[vertex]; }
+    public int getKey(int vertex) { return keys[vertex]; } // still valid after poll
+
+    public void insert(int vertex, int key) {
+        if (queued[vertex]) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is already in the queue");
+        }
+        keys[vertex] = key;
+        queued[vertex] = true;
+        link(vertex, key - minKey);
+        size++;
+    }
+
+    public void decreaseKey(int vertex, int key) {
+        if (!queued[vertex]) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is not in the queue");
+        }
+        if (key > keys[vertex]) {
+            throw new IllegalArgumentException("New key is greater than current key");
+        }
+        unlink(vertex, keys[vertex] - minKey);
+        keys[vertex] = key;
+        link(vertex, key - minKey);
+    }
+
+    /**
+     * Removes a vertex with the smallest key and returns it.
+     */
+    public int poll() {
+        if (size == 0) throw new IllegalStateException("Queue is empty");
+        while (head[cursor] == NONE) cursor++;
+
+        int vertex = head[cursor];
+        unlink(vertex, cursor);
+        queued[vertex] = false;
+        size--;
+        return vertex;
+    }
+
+    private void link(int vertex, int bucket) {
+        int first = head[bucket];
+        next[vertex] = first;
+        prev[vertex] = NONE;
+        if (first != NONE) prev[first] = vertex;
+        head[bucket] = vertex;
+        if (bucket < cursor) cursor = bucket;
+    }
+
+    private void unlink(int vertex, int bucket) {
+        int before = prev[vertex];
+        int after = next[vertex];
+        if (before != NONE) next[before] = after;
+        else head[bucket] = after;
+        if (after != NONE) prev[after] = before;
+    }
+}
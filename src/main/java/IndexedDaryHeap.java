@@ -0,0 +1,102 @@
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over vertex ids 0..capacity-1 with int keys.
+ * Supports decrease-key, so each vertex appears at most once and the
+ * heap never holds more than capacity entries.
+ */
+public class IndexedDaryHeap implements IndexedPriorityQueue {
+    private final int arity;
+    private final int[] heap;      // heap position -> vertex
+    private final int[] position;  // vertex -> heap position, -1 if absent
+    private final int[] keys;      // vertex -> current key
+    private int size;
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2");
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+    public boolean contains(int vertex) { return position[vertex] >= 0; }
+    public int getKey(int vertex) { return keys[vertex]; } // still valid after poll
+
+    public void insert(int vertex, int key) {
+        if (position[vertex] >= 0) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is already in the heap");
+        }
+        keys[vertex] = key;
+        siftUp(size++, vertex);
+    }
+
+    public void decreaseKey(int vertex, int key) {
+        if (position[vertex] < 0) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is not in the heap");
+        }
+        if (key > keys[vertex]) {
+            throw new IllegalArgumentException("New key is greater than current key");
+        }
+        keys[vertex] = key;
+        siftUp(position[vertex], vertex);
+    }
+
+    /**
+     * Removes the vertex with the smallest key and returns it.
+     */
+    public int poll() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        int min = heap[0];
+        position[min] = -1;
+        int last = heap[--size];
+        if (size > 0) siftDown(0, last);
+        return min;
+    }
+
+    private void siftUp(int i, int vertex) {
+        int key = keys[vertex];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            int parentVertex = heap[parent];
+            if (keys[parentVertex] <= key) break;
+            heap[i] = parentVertex;
+            position[parentVertex] = i;
+            i = parent;
+        }
+        heap[i] = vertex;
+        position[vertex] = i;
+    }
+
+    private void siftDown(int i, int vertex) {
+        int key = keys[vertex];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+
+            int best = first;
+            int bestKey = keys[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                int childKey = keys[heap[c]];
+                if (childKey < bestKey) {
+                    best = c;
+                    bestKey = childKey;
+                }
+            }
+            if (key <= bestKey) break;
+
+            int child = heap[best];
+            heap[i] = child;
+            position[child] = i;
+            i = best;
+        }
+        heap[i] = vertex;
+        position[vertex] = i;
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Vertex-indexed min-priority queue with decrease-key, used by eager Prim.
+ */
+public interface IndexedPriorityQueue {
+    boolean isEmpty();
+    int size();
+    boolean contains(int vertex);
+    int getKey(int vertex);
+    void insert(int vertex, int key);
+    void decreaseKey(int vertex, int key);
+    int poll();
+}
@@ -1,34 +1,22 @@
 import java.util.*;
+import java.util.function.Consumer;
 import java.io.*;
-import java.nio.file.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 public class JSONProcessor {
     private static final ObjectMapper mapper = new ObjectMapper();
 
-    // Structures for parsing JSON
-    public static class JsonGraph {
-        public int id;
-        public List<String> nodes;
-        public List<JsonEdge> edges;
-    }
-
-    public static class JsonEdge {
-        public String from;
-        public String to;
-        public int weight;
-    }
-
-    public static class InputData {
-        public List<JsonGraph> graphs;
-    }
-
+    // Output structures; input is read token by token, see streamInputFile
     public static class OutputResult {
         public int graph_id;
         public InputStats input_stats;
         public AlgorithmResult prim;
         public AlgorithmResult kruskal;
+        public List<OutputSensitivity> sensitivity;
     }
 
     public static class InputStats {
@@ -55,35 +43,176 @@ public class JSONProcessor {
         }
     }
 
+    // Nulls mean unbounded: a bridge has no removal cost, a tree edge no lower weight bound
+    public static class OutputSensitivity {
+        public String from;
+        public String to;
+        public int weight;
+        public boolean in_mst;
+        public Integer removal_cost_increase;
+        public Integer min_weight;
+        public Integer max_weight;
+    }
+
     public static class OutputData {
         public List<OutputResult> results;
     }
 
     // Read input.json
     public static List<GraphData> readInputFile(String filename) throws IOException {
-        String content = new String(Files.readAllBytes(Paths.get(filename)));
-        InputData inputData = mapper.readValue(content, InputData.class);
-
         List<GraphData> graphDataList = new ArrayList<>();
+        streamInputFile(filename, graphDataList::add);
+        return graphDataList;
+    }
 
-        for (JsonGraph jsonGraph : inputData.graphs) {
-            Graph graph = Graph.fromJsonData(jsonGraph.nodes, convertEdges(jsonGraph.edges));
-            graphDataList.add(new GraphData(jsonGraph.id, jsonGraph.nodes, graph));
+    /**
+     * Reads input.json with Jackson's token API, one graph at a time. Each
+     * graph is built as a compact {@link Graph} straight from the edge
+     * tokens and handed to the consumer before the next one is parsed, so
+     * neither the file text nor a bound object tree is ever held in memory.
+     * Returns the number of graphs read.
+     */
+    public static int streamInputFile(String filename, Consumer<GraphData> consumer) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(new File(filename))) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!field.equals("graphs")) {
+                    parser.skipChildren();
+                    continue;
+                }
+                expect(parser, value, JsonToken.START_ARRAY);
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    consumer.accept(readGraph(parser));
+                    count++;
+                }
+            }
+            return count;
         }
+    }
 
-        return graphDataList;
+    // Parses one graph object; the parser is on its START_OBJECT
+    private static GraphData readGraph(JsonParser parser) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+        int id = 0;
+        List<String> nodes = null;
+        Map<String, Integer> nodeIndex = null;
+        EdgeBuffer edges = new EdgeBuffer();
+        List<String> pendingEndpoints = new ArrayList<>();  // edges listed before the nodes, by name
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id":
+                    id = readInt(parser, field);
+                    break;
+                case "nodes":
+                    expect(parser, value, JsonToken.START_ARRAY);
+                    nodes = new ArrayList<>();
+                    nodeIndex = new HashMap<>();
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        nodeIndex.put(parser.getText(), nodes.size());
+                        nodes.add(parser.getText());
+                    }
+                    break;
+                case "edges":
+                    expect(parser, value, JsonToken.START_ARRAY);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        readEdge(parser, nodeIndex, edges, pendingEndpoints);
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        if (nodes == null) {
+            throw new IOException("Graph " + id + " has no \"nodes\" list");
+        }
+        for (int i = 0; i < pendingEndpoints.size(); i += 2) {
+            edges.sources[i / 2] = indexOf(pendingEndpoints.get(i), nodeIndex, parser);
+            edges.destinations[i / 2] = indexOf(pendingEndpoints.get(i + 1), nodeIndex, parser);
+        }
+        Graph graph = Graph.fromEdgeArrays(nodes.size(), Arrays.copyOf(edges.sources, edges.size),
+                Arrays.copyOf(edges.destinations, edges.size), Arrays.copyOf(edges.weights, edges.size));
+        return new GraphData(id, nodes, graph);
+    }
+
+    // Parses one edge object; endpoints are resolved now if the nodes are already known
+    private static void readEdge(JsonParser parser, Map<String, Integer> nodeIndex, EdgeBuffer edges,
+                                 List<String> pendingEndpoints) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+        String from = null;
+        String to = null;
+        Integer weight = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "from": from = parser.getText(); break;
+                case "to": to = parser.getText(); break;
+                case "weight": weight = readInt(parser, field); break;
+                default: parser.skipChildren();
+            }
+        }
+        if (from == null || to == null || weight == null) {
+            throw new IOException("Edge needs \"from\", \"to\" and \"weight\" at " + parser.getTokenLocation());
+        }
+        if (weight < 0) {
+            throw new IOException("Edge weight must be non-negative at " + parser.getTokenLocation());
+        }
+        if (nodeIndex != null && pendingEndpoints.isEmpty()) {
+            edges.add(indexOf(from, nodeIndex, parser), indexOf(to, nodeIndex, parser), weight);
+        } else {
+            edges.add(-1, -1, weight);
+            pendingEndpoints.add(from);
+            pendingEndpoints.add(to);
+        }
+    }
+
+    // Integer values only; getValueAsInt would read strings, booleans and objects as 0
+    private static int readInt(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            throw new IOException("Expected an integer \"" + field + "\" but found " + parser.currentToken()
+                    + " at " + parser.getCurrentLocation());
+        }
+        return parser.getIntValue();
+    }
+
+    private static int indexOf(String node, Map<String, Integer> nodeIndex, JsonParser parser) throws IOException {
+        Integer index = nodeIndex.get(node);
+        if (index == null) {
+            throw new IOException("Unknown node \"" + node + "\" at " + parser.getTokenLocation());
+        }
+        return index;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual + " at " + parser.getTokenLocation());
+        }
     }
 
-    private static List<Map<String, Object>> convertEdges(List<JsonEdge> jsonEdges) {
-        List<Map<String, Object>> edges = new ArrayList<>();
-        for (JsonEdge jsonEdge : jsonEdges) {
-            Map<String, Object> edge = new HashMap<>();
-            edge.put("from", jsonEdge.from);
-            edge.put("to", jsonEdge.to);
-            edge.put("weight", jsonEdge.weight);
-            edges.add(edge);
+    // Growable primitive edge arrays, no Edge objects or boxing per edge
+    private static final class EdgeBuffer {
+        int[] sources = new int[16];
+        int[] destinations = new int[16];
+        int[] weights = new int[16];
+        int size;
+
+        void add(int source, int destination, int weight) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, 2 * size);
+                destinations = Arrays.copyOf(destinations, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+            }
+            sources[size] = source;
+            destinations[size] = destination;
+            weights[size++] = weight;
         }
-        return edges;
     }
 
     // Write output.json
@@ -94,6 +223,36 @@ public class JSONProcessor {
         mapper.writerWithDefaultPrettyPrinter().writeValue(new File(filename), outputData);
     }
 
+    /**
+     * Writes output.json one result at a time, in the same layout as
+     * {@link #writeOutputFile}, so results can be dropped once written.
+     * Closing ends the results array.
+     */
+    public static class OutputWriter implements Closeable {
+        private final JsonGenerator generator;
+
+        public OutputWriter(String filename) throws IOException {
+            generator = mapper.getFactory().createGenerator(new File(filename), JsonEncoding.UTF8);
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("results");
+        }
+
+        public void write(OutputResult result) throws IOException {
+            mapper.writeValue(generator, result);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } finally {
+                generator.close();
+            }
+        }
+    }
+
     // Convert MST result to output format
     public static OutputResult convertToOutputResult(int graphId, List<String> nodeNames,
                                                      MSTResult primResult, MSTResult kruskalResult) {
@@ -131,6 +290,26 @@ public class JSONProcessor {
         return result;
     }
 
+    // Convert per-edge sensitivity to output format, in graph edge order
+    public static List<OutputSensitivity> convertSensitivity(Graph graph, List<String> nodeNames,
+                                                             MSTSensitivity sensitivity) {
+        List<OutputSensitivity> result = new ArrayList<>(graph.getEdgesCount());
+        for (int e = 0; e < graph.getEdgesCount(); e++) {
+            OutputSensitivity edge = new OutputSensitivity();
+            edge.from = Graph.getNodeName(graph.getEdgeSource(e), nodeNames);
+            edge.to = Graph.getNodeName(graph.getEdgeDestination(e), nodeNames);
+            edge.weight = graph.getEdgeWeight(e);
+            edge.in_mst = sensitivity.isTreeEdge(e);
+            edge.removal_cost_increase = sensitivity.isBridge(e) ? null : sensitivity.getRemovalCostIncrease(e);
+            int minWeight = sensitivity.getMinWeight(e);
+            int maxWeight = sensitivity.getMaxWeight(e);
+            edge.min_weight = minWeight == Integer.MIN_VALUE ? null : minWeight;
+            edge.max_weight = maxWeight == Integer.MAX_VALUE ? null : maxWeight;
+            result.add(edge);
+        }
+        return result;
+    }
+
     // Helper class to store graph-related data
     public static class GraphData {
         public final int id;
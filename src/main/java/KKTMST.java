@@ -0,0 +1,256 @@
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Randomized expected linear-time MST (Karger, Klein and Tarjan). Each level
+ * runs two Borůvka steps to shrink the vertex count by at least four, finds
+ * the minimum spanning forest F of a random half of the remaining edges
+ * recursively, drops every edge that is heavier than the F path between its
+ * endpoints, and recurses on what is left.
+ *
+ * Edges carry packed (weight, index) keys from {@link EdgeKeys}, so every
+ * comparison uses the same total order as the other engines and the result
+ * is the same tree. Every filter keeps edges in their original index order,
+ * so an edge's position is a valid tie-break inside one level as well.
+ */
+public class KKTMST {
+    /** Levels with at most this many edges are solved by Kruskal directly */
+    public static final int BASE_CASE_EDGES = 2048;
+
+    private final Random random;
+    private int comparisonCount;
+    private int assignmentCount;
+
+    public KKTMST() {
+        this(new Random());
+    }
+
+    public KKTMST(long seed) {
+        this(new Random(seed));
+    }
+
+    private KKTMST(Random random) {
+        this.random = random;
+    }
+
+    public MSTResult findMST(Graph graph) {
+        long startTime = System.nanoTime();
+        comparisonCount = 0;
+        assignmentCount = 0;
+
+        int vertices = graph.getVerticesCount();
+        int edgeCount = graph.getEdgesCount();
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            sources[e] = graph.getEdgeSource(e);
+            destinations[e] = graph.getEdgeDestination(e);
+        }
+        long[] keys = EdgeKeys.pack(graph);
+        assignmentCount += 3 * edgeCount;
+
+        IntList forest = spanningForest(new EdgeList(vertices, sources, destinations, keys, edgeCount));
+
+        List<Edge> mstEdges = new ArrayList<>(forest.size);
+        int totalCost = 0;
+        for (int i = 0; i < forest.size; i++) {
+            int e = forest.items[i];
+            int weight = graph.getEdgeWeight(e);
+            mstEdges.add(new Edge(sources[e], destinations[e], weight));
+            totalCost += weight;
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        int totalOperations = comparisonCount + assignmentCount;
+
+        return new MSTResult("Karger-Klein-Tarjan", mstEdges, totalCost,
+                executionTimeMs, totalOperations, vertices);
+    }
+
+    /**
+     * Minimum spanning forest of one level, as original edge indices.
+     */
+    private IntList spanningForest(EdgeList graph) {
+        if (graph.edgeCount <= BASE_CASE_EDGES) {
+            return kruskal(graph);
+        }
+
+        // Two Borůvka steps contract the graph to at most a quarter of the vertices
+        IntList forest = new IntList(graph.vertices);
+        EdgeList contracted = graph;
+        for (int step = 0; step < 2 && contracted.edgeCount > 0; step++) {
+            contracted = boruvkaStep(contracted, forest);
+        }
+        if (contracted.edgeCount == 0) return forest;
+
+        // F = MSF of a random half of the edges; edges heavier than their F path cannot be in the MSF
+        EdgeList reduced = contracted;
+        EdgeList sample = reduced.filter(e -> random.nextBoolean());
+        ForestPathMax pathMax = sample.subgraph(spanningForest(sample)).pathMax();
+        EdgeList light = reduced.filter(e -> {
+            comparisonCount++;
+            return reduced.keys[e] <= pathMax.pathMax(reduced.sources[e], reduced.destinations[e]);
+        });
+
+        forest.addAll(spanningForest(light));
+        return forest;
+    }
+
+    /**
+     * Picks the cheapest edge at every vertex, adds the picks to the forest
+     * and returns the graph with those edges contracted. Vertices that lose
+     * all their edges are dropped and the rest are renumbered densely.
+     */
+    private EdgeList boruvkaStep(EdgeList graph, IntList forest) {
+        int vertices = graph.vertices;
+        int[] cheapest = new int[vertices];
+        Arrays.fill(cheapest, -1);
+        for (int e = 0; e < graph.edgeCount; e++) {
+            long key = graph.keys[e];
+            int u = graph.sources[e];
+            int v = graph.destinations[e];
+            if (cheapest[u] < 0 || key < graph.keys[cheapest[u]]) cheapest[u] = e;
+            if (cheapest[v] < 0 || key < graph.keys[cheapest[v]]) cheapest[v] = e;
+        }
+        comparisonCount += 2 * graph.edgeCount;
+
+        DisjointSet components = new DisjointSet(vertices);
+        for (int v = 0; v < vertices; v++) {
+            int e = cheapest[v];
+            if (e >= 0 && components.union(graph.sources[e], graph.destinations[e])) {
+                forest.add(EdgeKeys.edgeIndex(graph.keys[e]));
+                assignmentCount += 2;
+            }
+        }
+
+        // Renumber surviving components in order of first appearance; self-loops are dropped
+        int[] label = new int[vertices];
+        Arrays.fill(label, -1);
+        int labels = 0;
+        int[] sources = new int[graph.edgeCount];
+        int[] destinations = new int[graph.edgeCount];
+        long[] keys = new long[graph.edgeCount];
+        int kept = 0;
+        for (int e = 0; e < graph.edgeCount; e++) {
+            int u = components.find(graph.sources[e]);
+            int v = components.find(graph.destinations[e]);
+            if (u == v) continue;
+            if (label[u] < 0) label[u] = labels++;
+            if (label[v] < 0) label[v] = labels++;
+            sources[kept] = label[u];
+            destinations[kept] = label[v];
+            keys[kept++] = graph.keys[e];
+        }
+        assignmentCount += 3 * kept;
+        return new EdgeList(labels, sources, destinations, keys, kept);
+    }
+
+    /**
+     * Kruskal over one level's edges. Positions follow the original index
+     * order, so (weight, position) sorts the same way as the packed keys.
+     */
+    private IntList kruskal(EdgeList graph) {
+        int edgeCount = graph.edgeCount;
+        long[] order = new long[edgeCount];
+        int maxWeight = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            int weight = EdgeKeys.weight(graph.keys[e]);
+            order[e] = EdgeKeys.pack(weight, e);
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        if (edgeCount >= KruskalMST.RADIX_SORT_THRESHOLD) {
+            EdgeKeys.radixSort(order, maxWeight);
+        } else {
+            Arrays.sort(order);
+        }
+
+        IntList forest = new IntList(Math.min(edgeCount, graph.vertices));
+        DisjointSet components = new DisjointSet(graph.vertices);
+        for (int i = 0; i < edgeCount && components.getComponentCount() > 1; i++) {
+            int e = EdgeKeys.edgeIndex(order[i]);
+            comparisonCount++;
+            if (components.union(graph.sources[e], graph.destinations[e])) {
+                forest.add(EdgeKeys.edgeIndex(graph.keys[e]));
+                assignmentCount += 2;
+            }
+        }
+        return forest;
+    }
+
+    /**
+     * Primitive edge list of one recursion level, in ascending original
+     * edge index order.
+     */
+    private static final class EdgeList {
+        final int vertices;
+        final int[] sources;
+        final int[] destinations;
+        final long[] keys;
+        final int edgeCount;
+
+        EdgeList(int vertices, int[] sources, int[] destinations, long[] keys, int edgeCount) {
+            this.vertices = vertices;
+            this.sources = sources;
+            this.destinations = destinations;
+            this.keys = keys;
+            this.edgeCount = edgeCount;
+        }
+
+        EdgeList filter(IntPredicate keep) {
+            int[] s = new int[edgeCount];
+            int[] d = new int[edgeCount];
+            long[] k = new long[edgeCount];
+            int kept = 0;
+            for (int e = 0; e < edgeCount; e++) {
+                if (!keep.test(e)) continue;
+                s[kept] = sources[e];
+                d[kept] = destinations[e];
+                k[kept++] = keys[e];
+            }
+            return new EdgeList(vertices, s, d, k, kept);
+        }
+
+        /**
+         * The edges with the given original indices, found by binary search
+         * since the list is in index order.
+         */
+        EdgeList subgraph(IntList edgeIndices) {
+            int[] indices = new int[edgeCount];
+            for (int e = 0; e < edgeCount; e++) indices[e] = EdgeKeys.edgeIndex(keys[e]);
+
+            int[] s = new int[edgeIndices.size];
+            int[] d = new int[edgeIndices.size];
+            long[] k = new long[edgeIndices.size];
+            for (int i = 0; i < edgeIndices.size; i++) {
+                int e = Arrays.binarySearch(indices, 0, edgeCount, edgeIndices.items[i]);
+                s[i] = sources[e];
+                d[i] = destinations[e];
+                k[i] = keys[e];
+            }
+            return new EdgeList(vertices, s, d, k, edgeIndices.size);
+        }
+
+        ForestPathMax pathMax() {
+            return new ForestPathMax(vertices, sources, destinations, keys, edgeCount);
+        }
+    }
+
+    private static final class IntList {
+        int[] items;
+        int size;
+
+        IntList(int capacity) {
+            items = new int[Math.max(4, capacity)];
+        }
+
+        void add(int value) {
+            if (size == items.length) items = Arrays.copyOf(items, 2 * size);
+            items[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            for (int i = 0; i < other.size; i++) add(other.items[i]);
+        }
+    }
+}
@@ -1,108 +1,333 @@
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 public class KruskalMST {
+    /**
+     * Strategy used to order the edges.
+     */
+    public enum Variant {
+        /** Single-threaded radix or comparison sort, then union-find */
+        SORTED,
+        /** Chunks sorted in parallel while earlier chunks feed the union-find */
+        PARALLEL,
+        /** Filter-Kruskal: quicksort-style partitioning that drops heavy edges inside a component */
+        FILTER,
+        /** O(E) heapify, then pop edges only until the tree is complete */
+        LAZY_HEAP
+    }
+
+    /** Edge counts at or above this are radix sorted instead of comparison sorted */
+    public static final int RADIX_SORT_THRESHOLD = 256;
+    /** Below this edge count the parallel variant runs the sequential path */
+    public static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /** Filter-Kruskal sorts ranges up to this size directly */
+    public static final int FILTER_BASE_SIZE = 4096;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int SAMPLES_PER_CHUNK = 32;
+
+    private final Variant variant;
+    private final ForkJoinPool pool;
     private int comparisonCount;
     private int assignmentCount;
-    private int unionFindOperations;
+    private final DisjointSet unionFind = new DisjointSet(0, true);
+
+    // Per-run tree being built
+    private List<Edge> mstEdges;
+    private int totalCost;
+
+    public KruskalMST() {
+        this(Variant.SORTED);
+    }
+
+    public KruskalMST(Variant variant) {
+        this(variant, ForkJoinPool.commonPool());
+    }
+
+    public KruskalMST(Variant variant, ForkJoinPool pool) {
+        this.variant = variant;
+        this.pool = pool;
+    }
+
+    public Variant getVariant() { return variant; }
 
     public MSTResult findMST(Graph graph) {
         long startTime = System.nanoTime();
         resetCounters();
 
-        List<Edge> edges = new ArrayList<>(graph.getEdgesList());
         int vertices = graph.getVerticesCount();
-        List<Edge> mstEdges = new ArrayList<>();
-        int totalCost = 0;
+        mstEdges = new ArrayList<>();
+        totalCost = 0;
+
+        // Sort edges by weight as packed (weight, index) keys
+        long[] keys = EdgeKeys.pack(graph);
+        assignmentCount += keys.length;
+
+        // Reused across runs; counting feeds the operation totals in the reports
+        DisjointSet uf = unionFind;
+        uf.reset(vertices);
+        assignmentCount += vertices * 2;
+
+        if (variant == Variant.PARALLEL && keys.length >= PARALLEL_THRESHOLD && pool.getParallelism() > 1) {
+            sortAndConsumeParallel(graph, keys, uf);
+        } else if (variant == Variant.LAZY_HEAP) {
+            consumeHeap(graph, keys, uf);
+        } else if (variant == Variant.FILTER) {
+            filterKruskal(graph, keys, 0, keys.length, graph.getMaxWeight(), new long[keys.length], uf);
+        } else {
+            sortKeys(keys, 0, keys.length, graph.getMaxWeight());
+            consumeKeys(graph, keys, 0, keys.length, uf);
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        int totalOperations = comparisonCount + assignmentCount + uf.getOperationCount();
 
-        // Sort edges by weight
-        Collections.sort(edges);
-        // Approximate sort operations: n*log(n) comparisons
-        comparisonCount += (int) (edges.size() * Math.log(edges.size()));
+        return new MSTResult("Kruskal's Algorithm", mstEdges, totalCost,
+                executionTimeMs, totalOperations, vertices);
+    }
 
-        UnionFind uf = new UnionFind(vertices);
+    /**
+     * Feeds sorted keys in [from, to) through the union-find.
+     * Returns true once the tree has V-1 edges.
+     */
+    private boolean consumeKeys(Graph graph, long[] keys, int from, int to, DisjointSet uf) {
+        int vertices = graph.getVerticesCount();
 
-        for (Edge edge : edges) {
+        for (int i = from; i < to; i++) {
             comparisonCount++;
 
-            if (mstEdges.size() == vertices - 1) break;
+            if (mstEdges.size() == vertices - 1) return true;
 
-            int u = edge.getSource();
-            int v = edge.getDestination();
+            consumeKey(graph, keys[i], uf);
+        }
+        return mstEdges.size() == vertices - 1;
+    }
 
-            int rootU = uf.find(u);
-            int rootV = uf.find(v);
+    /**
+     * Heapifies the keys in O(E) and pops them lazily, so only the edges
+     * examined before the tree completes pay the O(log E) extraction cost.
+     */
+    private void consumeHeap(Graph graph, long[] keys, DisjointSet uf) {
+        int vertices = graph.getVerticesCount();
+        LongMinHeap heap = new LongMinHeap(keys);
+        assignmentCount += keys.length;
 
-            // If including this edge doesn't cause cycle, include it in MST
+        while (!heap.isEmpty()) {
             comparisonCount++;
-            if (rootU != rootV) {
-                mstEdges.add(edge);
-                totalCost += edge.getWeight();
-                uf.union(rootU, rootV);
-                assignmentCount += 2;
-            }
+
+            if (mstEdges.size() == vertices - 1) break;
+
+            consumeKey(graph, heap.poll(), uf);
+            comparisonCount += (int) (Math.log(heap.size() + 1) / Math.log(2));
         }
+    }
 
-        long endTime = System.nanoTime();
-        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
-        int totalOperations = comparisonCount + assignmentCount + unionFindOperations;
+    private void consumeKey(Graph graph, long key, DisjointSet uf) {
+        int edgeIndex = EdgeKeys.edgeIndex(key);
+        int u = graph.getEdgeSource(edgeIndex);
+        int v = graph.getEdgeDestination(edgeIndex);
 
-        return new MSTResult("Kruskal's Algorithm", mstEdges, totalCost,
-                executionTimeMs, totalOperations, vertices);
+        // If including this edge doesn't cause cycle, include it in MST
+        comparisonCount++;
+        if (uf.union(u, v)) {
+            int weight = EdgeKeys.weight(key);
+            mstEdges.add(new Edge(u, v, weight));
+            totalCost += weight;
+            assignmentCount += 2;
+        }
     }
 
-    private void resetCounters() {
-        comparisonCount = 0;
-        assignmentCount = 0;
-        unionFindOperations = 0;
+    private void sortKeys(long[] keys, int from, int to, int maxWeight) {
+        int n = to - from;
+        if (n >= RADIX_SORT_THRESHOLD) {
+            EdgeKeys.radixSort(keys, from, to, maxWeight);
+            // Each pass counts and scatters every key once
+            assignmentCount += 2 * n * EdgeKeys.radixPasses(maxWeight);
+        } else {
+            Arrays.sort(keys, from, to);
+            // Approximate sort operations: n*log(n) comparisons
+            comparisonCount += (int) (n * Math.log(n));
+        }
     }
 
-    // Union-Find (Disjoint Set Union) data structure
-    private class UnionFind {
-        private final int[] parent;
-        private final int[] rank;
+    /**
+     * Filter-Kruskal on keys[from, to): partition around a pivot, recurse on
+     * the light side first, then drop heavy edges whose endpoints are already
+     * connected before recursing on what is left. Edges that never matter are
+     * filtered out instead of sorted. Returns true once the tree is complete.
+     */
+    private boolean filterKruskal(Graph graph, long[] keys, int from, int to, int maxWeight,
+                                  long[] scratch, DisjointSet uf) {
+        if (to - from <= FILTER_BASE_SIZE) {
+            sortKeys(keys, from, to, maxWeight);
+            return consumeKeys(graph, keys, from, to, uf);
+        }
+
+        long pivot = medianOfThree(keys[from], keys[(from + to) >>> 1], keys[to - 1]);
+        int split = partition(keys, from, to, pivot, scratch);
+
+        if (filterKruskal(graph, keys, from, split, EdgeKeys.weight(pivot), scratch, uf)) return true;
 
-        public UnionFind(int size) {
-            parent = new int[size];
-            rank = new int[size];
-            for (int i = 0; i < size; i++) {
-                parent[i] = i;
-                rank[i] = 0;
+        int kept = filterConnected(graph, keys, split, to, uf);
+        return filterKruskal(graph, keys, split, kept, maxWeight, scratch, uf);
+    }
+
+    /**
+     * Stable partition: keys <= pivot move to the front, heavier keys are
+     * parked in the scratch buffer and copied back behind them. Keeping the
+     * original relative order lets the base case radix sort on weight only.
+     */
+    private int partition(long[] keys, int from, int to, long pivot, long[] scratch) {
+        int boundary = from;
+        int heavy = 0;
+        for (int i = from; i < to; i++) {
+            long key = keys[i];
+            comparisonCount++;
+            if (key <= pivot) {
+                keys[boundary++] = key;
+            } else {
+                scratch[heavy++] = key;
             }
-            assignmentCount += size * 2;
         }
+        System.arraycopy(scratch, 0, keys, boundary, heavy);
+        assignmentCount += to - from;
+        return boundary;
+    }
 
-        public int find(int x) {
-            unionFindOperations++;
-            if (parent[x] != x) {
-                comparisonCount++;
+    // Compacts keys whose endpoints are still in different components to the front
+    private int filterConnected(Graph graph, long[] keys, int from, int to, DisjointSet uf) {
+        int kept = from;
+        for (int i = from; i < to; i++) {
+            int edgeIndex = EdgeKeys.edgeIndex(keys[i]);
+            comparisonCount++;
+            if (!uf.connected(graph.getEdgeSource(edgeIndex), graph.getEdgeDestination(edgeIndex))) {
+                keys[kept++] = keys[i];
                 assignmentCount++;
-                parent[x] = find(parent[x]); // Path compression
             }
-            return parent[x];
         }
+        return kept;
+    }
 
-        public void union(int x, int y) {
-            int rootX = find(x);
-            int rootY = find(y);
+    private static long medianOfThree(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
 
-            comparisonCount++;
-            if (rootX != rootY) {
-                // Union by rank
-                comparisonCount++;
-                if (rank[rootX] < rank[rootY]) {
-                    assignmentCount++;
-                    parent[rootX] = rootY;
-                } else if (rank[rootX] > rank[rootY]) {
-                    comparisonCount++;
-                    assignmentCount++;
-                    parent[rootY] = rootX;
-                } else {
-                    comparisonCount += 2;
-                    assignmentCount += 2;
-                    parent[rootY] = rootX;
-                    rank[rootX]++;
+    /**
+     * Splits the keys into weight-ordered chunks around sampled splitters,
+     * sorts all chunks concurrently on the pool and consumes them in order
+     * on the calling thread, so union-find work on chunk i overlaps with
+     * sorting of chunks i+1..k. Chunks after the tree is complete are cancelled.
+     */
+    private void sortAndConsumeParallel(Graph graph, long[] keys, DisjointSet uf) {
+        int n = keys.length;
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        long[] splitters = sampleSplitters(keys, chunks);
+        int[] bounds = new int[chunks + 1];
+        long[] partitioned = partition(keys, splitters, bounds);
+        assignmentCount += 2 * n;
+
+        List<ForkJoinTask<?>> sorts = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int from = bounds[c];
+            int to = bounds[c + 1];
+            sorts.add(pool.submit(() -> Arrays.sort(partitioned, from, to)));
+        }
+        comparisonCount += (int) (n * Math.log(Math.max(2.0, (double) n / chunks)));
+
+        for (int c = 0; c < chunks; c++) {
+            sorts.get(c).join();
+            if (consumeKeys(graph, partitioned, bounds[c], bounds[c + 1], uf)) {
+                for (int rest = c + 1; rest < chunks; rest++) {
+                    sorts.get(rest).cancel(false);
                 }
+                break;
+            }
+        }
+    }
+
+    // chunks - 1 ascending splitter keys taken from a strided sample
+    private static long[] sampleSplitters(long[] keys, int chunks) {
+        int sampleSize = Math.min(keys.length, chunks * SAMPLES_PER_CHUNK);
+        long[] sample = new long[sampleSize];
+        long stride = keys.length / sampleSize;
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = keys[(int) (i * stride)];
+        }
+        Arrays.sort(sample);
+
+        long[] splitters = new long[chunks - 1];
+        for (int i = 1; i < chunks; i++) {
+            splitters[i - 1] = sample[(int) ((long) i * sampleSize / chunks)];
+        }
+        return splitters;
+    }
+
+    /**
+     * Parallel counting partition of keys into chunks: chunk c holds keys
+     * in [splitters[c-1], splitters[c]). Fills bounds with chunk offsets.
+     */
+    private long[] partition(long[] keys, long[] splitters, int[] bounds) {
+        int n = keys.length;
+        int chunks = bounds.length - 1;
+        int slices = pool.getParallelism();
+        int sliceSize = (n + slices - 1) / slices;
+        int[] chunkOf = new int[n];
+        int[][] counts = new int[slices][chunks];
+
+        runSlices(slices, slice -> {
+            int[] sliceCounts = counts[slice];
+            for (int i = slice * sliceSize, end = Math.min(n, i + sliceSize); i < end; i++) {
+                int chunk = upperBound(splitters, keys[i]);
+                chunkOf[i] = chunk;
+                sliceCounts[chunk]++;
+            }
+        });
+
+        // Exclusive offsets ordered by chunk, then slice, keeping the scatter stable
+        int offset = 0;
+        for (int c = 0; c < chunks; c++) {
+            bounds[c] = offset;
+            for (int slice = 0; slice < slices; slice++) {
+                int count = counts[slice][c];
+                counts[slice][c] = offset;
+                offset += count;
+            }
+        }
+        bounds[chunks] = n;
+
+        long[] partitioned = new long[n];
+        runSlices(slices, slice -> {
+            int[] cursor = counts[slice];
+            for (int i = slice * sliceSize, end = Math.min(n, i + sliceSize); i < end; i++) {
+                partitioned[cursor[chunkOf[i]]++] = keys[i];
             }
+        });
+        return partitioned;
+    }
+
+    private void runSlices(int slices, IntConsumer body) {
+        pool.submit(() -> IntStream.range(0, slices).parallel().forEach(body)).join();
+    }
+
+    // Number of splitters <= key, i.e. the chunk the key belongs to
+    private static int upperBound(long[] splitters, long key) {
+        int low = 0;
+        int high = splitters.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (splitters[mid] <= key) low = mid + 1;
+            else high = mid;
         }
+        return low;
+    }
+
+    private void resetCounters() {
+        comparisonCount = 0;
+        assignmentCount = 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,213 @@
+import java.util.Arrays;
+
+/**
+ * Link-cut trees (Sleator and Tarjan) over nodes 0..n-1 with a long value
+ * per node and path-maximum queries, all in amortized O(log n). The splay
+ * trees live in parallel int arrays, so nodes are not objects, and splaying
+ * is iterative. Nodes can be added while the structure is in use.
+ */
+public class LinkCutTree {
+    /** Returned by {@link #pathMaxNode} when the nodes lie in different trees */
+    public static final int NONE = -1;
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;      // splay parent, or path-parent for the root of an auxiliary tree
+    private boolean[] flipped; // pending subtree reversal from makeRoot
+    private long[] value;
+    private int[] maxNode;     // node with the largest value in the splay subtree
+    private int[] stack;
+    private int size;
+
+    public LinkCutTree(int capacity) {
+        capacity = Math.max(capacity, 4);
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        flipped = new boolean[capacity];
+        value = new long[capacity];
+        maxNode = new int[capacity];
+        stack = new int[capacity];
+    }
+
+    /**
+     * Adds a node in a tree of its own and returns its id.
+     */
+    public int addNode(long nodeValue) {
+        if (size == value.length) {
+            int capacity = 2 * size;
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            flipped = Arrays.copyOf(flipped, capacity);
+            value = Arrays.copyOf(value, capacity);
+            maxNode = Arrays.copyOf(maxNode, capacity);
+            stack = new int[capacity];
+        }
+        int x = size++;
+        left[x] = NONE;
+        right[x] = NONE;
+        parent[x] = NONE;
+        flipped[x] = false;
+        value[x] = nodeValue;
+        maxNode[x] = x;
+        return x;
+    }
+
+    public int size() { return size; }
+    public long getValue(int x) { return value[x]; }
+
+    public void setValue(int x, long nodeValue) {
+        access(x);
+        value[x] = nodeValue;
+        update(x);
+    }
+
+    public boolean connected(int x, int y) {
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    /**
+     * Joins the trees of x and y with an edge between x and y.
+     */
+    public void link(int x, int y) {
+        if (connected(x, y)) {
+            throw new IllegalArgumentException("Nodes " + x + " and " + y + " are already connected");
+        }
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    /**
+     * Removes the edge between x and y.
+     */
+    public void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        // Adjacent means the preferred path is exactly x, y: x alone under y
+        if (left[y] != x) {
+            throw new IllegalArgumentException("Nodes " + x + " and " + y + " are not adjacent");
+        }
+        push(x);
+        if (left[x] != NONE || right[x] != NONE) {
+            throw new IllegalArgumentException("Nodes " + x + " and " + y + " are not adjacent");
+        }
+        left[y] = NONE;
+        parent[x] = NONE;
+        update(y);
+    }
+
+    /**
+     * Node with the largest value on the tree path from x to y, both ends
+     * included, or {@link #NONE} when x and y are in different trees.
+     */
+    public int pathMaxNode(int x, int y) {
+        // With x as the root, one findRoot tells whether y is in the same tree
+        makeRoot(x);
+        if (x != y && findRoot(y) != x) return NONE;
+        access(y);
+        return maxNode[y];
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        flipped[x] ^= true;
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        int root = x;
+        while (true) {
+            push(root);
+            if (left[root] == NONE) break;
+            root = left[root];
+        }
+        splay(root);
+        return root;
+    }
+
+    /**
+     * Makes the path from the tree root to x preferred and splays x to the
+     * top of its auxiliary tree, with nothing deeper than x on the path.
+     */
+    private void access(int x) {
+        int last = NONE;
+        for (int y = x; y != NONE; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            update(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NONE || (left[p] != x && right[p] != x);
+    }
+
+    private void splay(int x) {
+        // Push pending reversals down from the top of the splay tree first
+        int top = 0;
+        stack[top++] = x;
+        for (int y = x; !isSplayRoot(y); y = parent[y]) {
+            stack[top++] = parent[y];
+        }
+        while (top > 0) push(stack[--top]);
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                boolean zigZig = (left[g] == p) == (left[p] == x);
+                rotate(zigZig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        boolean pWasRoot = isSplayRoot(p);
+
+        if (left[p] == x) {
+            int child = right[x];
+            left[p] = child;
+            if (child != NONE) parent[child] = p;
+            right[x] = p;
+        } else {
+            int child = left[x];
+            right[p] = child;
+            if (child != NONE) parent[child] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!pWasRoot) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        update(p);
+        update(x);
+    }
+
+    private void push(int x) {
+        if (!flipped[x]) return;
+        int swap = left[x];
+        left[x] = right[x];
+        right[x] = swap;
+        if (left[x] != NONE) flipped[left[x]] ^= true;
+        if (right[x] != NONE) flipped[right[x]] ^= true;
+        flipped[x] = false;
+    }
+
+    private void update(int x) {
+        int best = x;
+        int l = left[x];
+        int r = right[x];
+        if (l != NONE && value[maxNode[l]] > value[best]) best = maxNode[l];
+        if (r != NONE && value[maxNode[r]] > value[best]) best = maxNode[r];
+        maxNode[x] = best;
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of primitive long keys. Used for packed
+ * (weight, index) entries so that no boxing happens on the hot path.
+ */
+public class LongMinHeap {
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap(int initialCapacity) {
+        this.heap = new long[Math.max(initialCapacity, 2)];
+        this.size = 0;
+    }
+
+    /**
+     * Takes over the array and heapifies it bottom-up in O(n).
+     */
+    public LongMinHeap(long[] keys) {
+        this.heap = keys.length >= 2 ? keys : Arrays.copyOf(keys, 2);
+        this.size = keys.length;
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, heap[i]);
+        }
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+    public void clear() { size = 0; }
+
+    public long peek() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        return heap[0];
+    }
+
+    public void add(long key) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            long parentKey = heap[parent];
+            if (parentKey <= key) break;
+            heap[i] = parentKey;
+            i = parent;
+        }
+        heap[i] = key;
+    }
+
+    public long poll() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        long min = heap[0];
+        long last = heap[--size];
+        if (size > 0) siftDown(0, last);
+        return min;
+    }
+
+    private void siftDown(int i, long key) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            long childKey = heap[child];
+            int right = child + 1;
+            if (right < size && heap[right] < childKey) {
+                child = right;
+                childKey = heap[right];
+            }
+            if (key <= childKey) break;
+            heap[i] = childKey;
+            i = child;
+        }
+        heap[i] = key;
+    }
+}
@@ -13,34 +13,53 @@ public class MSTAnalyzer {
         System.out.println("  Connected: " + graph.isConnected());
 
         if (!graph.isConnected()) {
-            System.out.println(" Cannot compute MST - Graph is disconnected!");
-            return;
+            System.out.println("  Graph is disconnected - computing a minimum spanning forest");
         }
 
         PrimMST prim = new PrimMST();
         KruskalMST kruskal = new KruskalMST();
+        BoruvkaMST boruvka = new BoruvkaMST();
 
         System.out.println("\nComputing MSTs...");
 
         MSTResult primResult = prim.findMST(graph);
         MSTResult kruskalResult = kruskal.findMST(graph);
+        MSTResult boruvkaResult = boruvka.findMST(graph);
 
         System.out.println("\nRESULTS:");
         System.out.println(primResult);
         System.out.println(kruskalResult);
+        System.out.println(boruvkaResult);
 
         // Validation
         System.out.println("\nVALIDATION:");
-        boolean costsMatch = primResult.getTotalCost() == kruskalResult.getTotalCost();
-        boolean primValid = primResult.isValidMST();
-        boolean kruskalValid = kruskalResult.isValidMST();
+        boolean costsMatch = primResult.getTotalCost() == kruskalResult.getTotalCost()
+                && boruvkaResult.getTotalCost() == kruskalResult.getTotalCost();
+        // Cycle-property check per tree, so each result stands on its own
+        MSTVerifier primCheck = new MSTVerifier(graph, primResult);
+        MSTVerifier kruskalCheck = new MSTVerifier(graph, kruskalResult);
+        MSTVerifier boruvkaCheck = new MSTVerifier(graph, boruvkaResult);
+        boolean primValid = primCheck.isValid();
+        boolean kruskalValid = kruskalCheck.isValid();
+        boolean boruvkaValid = boruvkaCheck.isValid();
 
         System.out.println("  ✓ MST costs match: " + costsMatch);
-        System.out.println("  ✓ Prim's MST valid: " + primValid);
-        System.out.println("  ✓ Kruskal's MST valid: " + kruskalValid);
-        System.out.println("  ✓ Correct edge count: " + primResult.hasCorrectEdgeCount());
+        System.out.println("  ✓ Prim's MST verified: " + primValid);
+        System.out.println("  ✓ Kruskal's MST verified: " + kruskalValid);
+        System.out.println("  ✓ Borůvka's MST verified: " + boruvkaValid);
+        for (MSTVerifier check : Arrays.asList(primCheck, kruskalCheck, boruvkaCheck)) {
+            if (!check.isValid()) System.out.println("    " + check.getFailure());
+        }
+        System.out.println("  ✓ Correct edge count: " + primResult.hasCorrectEdgeCount(graph));
+        if (!kruskalResult.isSpanningTree()) {
+            System.out.println("  ✓ Component counts match: "
+                    + (primResult.getComponentCount() == kruskalResult.getComponentCount()));
+            System.out.println("  Components: " + kruskalResult.getComponentCount()
+                    + ", costs " + Arrays.toString(kruskalResult.getComponentCosts())
+                    + ", edges " + Arrays.toString(kruskalResult.getComponentEdgeCounts()));
+        }
 
-        if (costsMatch && primValid && kruskalValid) {
+        if (costsMatch && primValid && kruskalValid && boruvkaValid) {
             System.out.println("\n ALL VALIDATIONS PASSED!");
         } else {
             System.out.println("\n SOME VALIDATIONS FAILED!");
@@ -52,6 +71,8 @@ public class MSTAnalyzer {
                 (double) primResult.getExecutionTime() / kruskalResult.getExecutionTime());
         System.out.printf("  Operations Ratio (Prim/Kruskal): %.2f\n",
                 (double) primResult.getOperationsCount() / kruskalResult.getOperationsCount());
+        System.out.printf("  Time Ratio (Borůvka/Kruskal): %.2f (%d rounds)\n",
+                boruvkaResult.getExecutionTime() / kruskalResult.getExecutionTime(), boruvka.getRounds());
     }
 
     public static void runPerformanceAnalysis() {
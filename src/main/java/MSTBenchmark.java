@@ -0,0 +1,831 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Micro-benchmarks for the MST engine variants on random graphs shaped
+ * like the input.json size buckets (Small to Extra Large).
+ */
+public class MSTBenchmark {
+    private static final int GRAPHS_PER_BUCKET = 5;
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 50;
+    private static final int MAX_WEIGHT = 300;
+    private static final long SEED = 42L;
+
+    // Query answers are folded in here so the JIT cannot drop the timed loops
+    private static int querySink;
+
+    // Size bucket with the vertex range and edges-per-vertex ratio of input.json
+    static class SizeBucket {
+        final String name;
+        final int minVertices;
+        final int maxVertices;
+        final double edgesPerVertex;
+
+        SizeBucket(String name, int minVertices, int maxVertices, double edgesPerVertex) {
+            this.name = name;
+            this.minVertices = minVertices;
+            this.maxVertices = maxVertices;
+            this.edgesPerVertex = edgesPerVertex;
+        }
+    }
+
+    static final List<SizeBucket> SIZE_BUCKETS = Arrays.asList(
+            new SizeBucket("Small (5-30)", 5, 30, 2.0),
+            new SizeBucket("Medium (50-300)", 50, 300, 4.0),
+            new SizeBucket("Large (350-1000)", 350, 1000, 3.9),
+            new SizeBucket("Extra Large (1200-3000)", 1200, 3000, 1.5)
+    );
+
+    public static void main(String[] args) {
+        System.out.println("MST ENGINE BENCHMARKS");
+        System.out.println("Average execution time per graph (ms), "
+                + MEASURED_ROUNDS + " measured rounds after " + WARMUP_ROUNDS + " warmup rounds\n");
+
+        // Sections can be selected by name on the command line, e.g. "prim-bucket"
+        Map<String, Runnable> sections = new LinkedHashMap<>();
+        sections.put("prim-heap", MSTBenchmark::comparePrimQueues);
+        sections.put("prim-dense", MSTBenchmark::compareDensePrim);
+        sections.put("prim-bucket", MSTBenchmark::compareBucketPrim);
+        sections.put("kruskal-sort", MSTBenchmark::compareKruskalSorts);
+        sections.put("kruskal-parallel", MSTBenchmark::compareParallelKruskal);
+        sections.put("kruskal-filter", MSTBenchmark::compareFilterKruskal);
+        sections.put("kruskal-heap", MSTBenchmark::compareLazyHeapKruskal);
+        sections.put("prim-parallel", MSTBenchmark::compareParallelPrim);
+        sections.put("boruvka", MSTBenchmark::compareBoruvka);
+        sections.put("kkt", MSTBenchmark::compareKKT);
+        sections.put("union-find", MSTBenchmark::compareConcurrentUnionFind);
+        sections.put("dynamic", MSTBenchmark::compareDynamicUpdates);
+        sections.put("closures", MSTBenchmark::compareClosures);
+        sections.put("sensitivity", MSTBenchmark::compareSensitivity);
+        sections.put("verify", MSTBenchmark::compareVerification);
+        sections.put("bottleneck", MSTBenchmark::compareBottleneckQueries);
+        sections.put("euclidean", MSTBenchmark::compareEuclidean);
+        sections.put("streaming", MSTBenchmark::compareStreaming);
+        sections.put("external", MSTBenchmark::compareExternalKruskal);
+
+        Collection<String> selected = args.length > 0 ? Arrays.asList(args) : sections.keySet();
+        for (String name : selected) {
+            Runnable section = sections.get(name);
+            if (section == null) {
+                throw new IllegalArgumentException("Unknown benchmark section: " + name
+                        + " (available: " + sections.keySet() + ")");
+            }
+            section.run();
+        }
+    }
+
+    private static void comparePrimQueues() {
+        Map<String, Function<Graph, MSTResult>> engines = new LinkedHashMap<>();
+        engines.put("Lazy PQ", new PrimMST(PrimMST.Variant.LAZY)::findMST);
+        engines.put("Indexed 4-ary heap", new PrimMST(PrimMST.Variant.INDEXED_HEAP)::findMST);
+
+        List<SizeBucket> buckets = new ArrayList<>(SIZE_BUCKETS);
+        buckets.add(new SizeBucket("Dense (V=600, d=0.7)", 600, 600, 0.7 * 599 / 2));
+        runBuckets("PRIM: LAZY PRIORITY QUEUE vs INDEXED HEAP", engines, buckets);
+    }
+
+    private static void compareDensePrim() {
+        Map<String, Function<Graph, MSTResult>> engines = new LinkedHashMap<>();
+        engines.put("Lazy PQ", new PrimMST(PrimMST.Variant.LAZY)::findMST);
+        engines.put("Indexed heap", new PrimMST(PrimMST.Variant.INDEXED_HEAP)::findMST);
+        engines.put("Dense array scan", new PrimMST(PrimMST.Variant.DENSE)::findMST);
+
+        List<SizeBucket> buckets = new ArrayList<>();
+        for (int vertices : new int[]{300, 1000}) {
+            for (double density : new double[]{0.1, 0.3, 0.6, 0.8, 1.0}) {
+                buckets.add(new SizeBucket(String.format("V=%d, d=%.1f", vertices, density),
+                        vertices, vertices, density * (vertices - 1) / 2));
+            }
+        }
+        runBuckets("PRIM: HEAP vs DENSE ARRAY SCAN BY DENSITY", engines, buckets);
+    }
+
+    private static void compareBucketPrim() {
+        Map<String, Function<Graph, MSTResult>> engines = new LinkedHashMap<>();
+        engines.put("Lazy PQ", new PrimMST(PrimMST.Variant.LAZY)::findMST);
+        engines.put("Indexed heap", new PrimMST(PrimMST.Variant.INDEXED_HEAP)::findMST);
+        engines.put("Bucket queue", new PrimMST(PrimMST.Variant.BUCKET)::findMST);
+
+        List<SizeBucket> buckets = new ArrayList<>(SIZE_BUCKETS.subList(2, 4));
+        buckets.add(new SizeBucket("Road (V=20000, 3E/V)", 20000, 20000, 3.0));
+        runBuckets("PRIM: HEAP vs BUCKET QUEUE (weights 1-" + MAX_WEIGHT + ")", engines, buckets);
+    }
+
+    private static void compareParallelKruskal() {
+        Map<String, Function<Graph, MSTResult>> engines = new LinkedHashMap<>();
+        engines.put("Sequential", new KruskalMST()::findMST);
+        engines.put("Parallel", new KruskalMST(KruskalMST.Variant.PARALLEL)::findMST);
+
+        List<SizeBucket> buckets = new ArrayList<>(SIZE_BUCKETS);
+        buckets.add(new SizeBucket("Road (V=100000, 4E/V)", 100_000, 100_000, 4.0));
+        runBuckets("KRUSKAL: SEQUENTIAL vs PARALLEL (" + Runtime.getRuntime().availableProcessors()
+                + " cores)", engines, buckets);
+    }
+
+    private static void compareFilterKruskal() {
+        Map<String, Function<Graph, MSTResult>> engines = new LinkedHashMap<>();
+        engines.put("Full radix sort", new KruskalMST()::findMST);
+        engines.put("Filter-Kruskal", new KruskalMST(KruskalMST.Variant.FILTER)::findMST);
+
+        List<SizeBucket> buckets = new ArrayList<>(SIZE_BUCKETS);
+        buckets.add(new SizeBucket("V=3000, 20E/V", 3000, 3000, 20.0));
+        buckets.add(new SizeBucket("V=3000, d=0.3", 3000, 3000, 0.3 * 2999 / 2));
+        runBuckets("KRUSKAL: FULL SORT vs FILTER-KRUSKAL", engines, buckets);
+    }
+
+    private static void compareLazyHeapKruskal() {
+        Map<String, Function<Graph, MSTResult>> engines = new LinkedHashMap<>();
+        engines.put("Full radix sort", new KruskalMST()::findMST);
+        engines.put("Lazy heap", new KruskalMST(KruskalMST.Variant.LAZY_HEAP)::findMST);
+        engines.put("Filter-Kruskal", new KruskalMST(KruskalMST.Variant.FILTER)::findMST);
+
+        List<SizeBucket> buckets = new ArrayList<>(SIZE_BUCKETS);
+        buckets.add(new SizeBucket("V=3000, 20E/V", 3000, 3000, 20.0));
+        runBuckets("KRUSKAL: FULL SORT vs LAZY HEAP", engines, buckets);
+    }
+
+    private static void compareParallelPrim() {
+        // At least 4 workers, so the fragment path also runs on small machines
+        ForkJoinPool workers = new ForkJoinPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        Map<String, Function<Graph, MSTResult>> engines = new LinkedHashMap<>();
+        engines.put("Indexed heap", new PrimMST(PrimMST.Variant.INDEXED_HEAP)::findMST);
+        engines.put("Parallel fragments", new PrimMST(PrimMST.Variant.PARALLEL, workers)::findMST);
+        engines.put("Kruskal", new KruskalMST()::findMST);
+
+        List<SizeBucket> buckets = new ArrayList<>(SIZE_BUCKETS.subList(3, 4));
+        buckets.add(new SizeBucket("Road (V=100000, 4E/V)", 100_000, 100_000, 4.0));
+        runBuckets("PRIM: SEQUENTIAL vs PARALLEL FRAGMENTS (" + workers.getParallelism() + " workers, "
+                + Runtime.getRuntime().availableProcessors() + " cores)", engines, buckets);
+        workers.shutdown();
+    }
+
+    private static void compareBoruvka() {
+        Map<String, Function<Graph, MSTResult>> engines = new LinkedHashMap<>();
+        engines.put("Prim", new PrimMST()::findMST);
+        engines.put("Kruskal", new KruskalMST()::findMST);
+        engines.put("Boruvka", new BoruvkaMST()::findMST);
+
+        List<SizeBucket> buckets = new ArrayList<>(SIZE_BUCKETS);
+        buckets.add(new SizeBucket("Road (V=100000, 4E/V)", 100_000, 100_000, 4.0));
+        runBuckets("PRIM vs KRUSKAL vs PARALLEL BORUVKA (" + Runtime.getRuntime().availableProcessors()
+                + " cores)", engines, buckets);
+    }
+
+    private static void compareKKT() {
+        Map<String, Function<Graph, MSTResult>> engines = new LinkedHashMap<>();
+        engines.put("Prim", new PrimMST()::findMST);
+        engines.put("Kruskal", new KruskalMST()::findMST);
+        engines.put("KKT", new KKTMST(SEED)::findMST);
+
+        List<SizeBucket> buckets = new ArrayList<>(SIZE_BUCKETS.subList(2, 4));
+        buckets.add(new SizeBucket("V=3000, 20E/V", 3000, 3000, 20.0));
+        for (int vertices : new int[]{20_000, 100_000, 250_000}) {
+            buckets.add(new SizeBucket("Road (V=" + vertices + ", 4E/V)", vertices, vertices, 4.0));
+        }
+        buckets.add(new SizeBucket("V=20000, 40E/V", 20_000, 20_000, 40.0));
+        runBuckets("PRIM vs KRUSKAL vs KARGER-KLEIN-TARJAN", engines, buckets);
+    }
+
+    private static void compareDynamicUpdates() {
+        System.out.println("=".repeat(70));
+        System.out.println("DYNAMIC MST: LINK-CUT UPDATE vs FULL KRUSKAL RERUN");
+        System.out.println("=".repeat(70));
+        System.out.printf("%-26s%20s%20s%20s%n", "Graph", "Update (us)", "Kruskal rerun (ms)", "Speedup");
+
+        Random random = new Random(SEED);
+        for (int vertices : new int[]{1000, 20_000, 100_000}) {
+            Graph graph = Graph.randomConnected(vertices, 4 * vertices, MAX_WEIGHT, random);
+            graph.compact();
+            KruskalMST kruskal = new KruskalMST();
+            double rerunMs = measure(kruskal::findMST, Collections.singletonList(graph));
+
+            // Half new links, half faster segments on existing edges
+            int updates = 200_000;
+            DynamicMST dynamic = new DynamicMST(graph, kruskal.findMST(graph));
+            long start = System.nanoTime();
+            for (int i = 0; i < updates; i++) {
+                if ((i & 1) == 0) {
+                    dynamic.insertEdge(random.nextInt(vertices), random.nextInt(vertices), 1 + random.nextInt(MAX_WEIGHT));
+                } else {
+                    int id = random.nextInt(dynamic.getEdgeCount());
+                    dynamic.decreaseWeight(id, Math.max(1, dynamic.getEdgeWeight(id) - 1 - random.nextInt(10)));
+                }
+            }
+            double updateUs = (System.nanoTime() - start) / 1_000.0 / updates;
+            System.out.printf("%-26s%20.3f%20.3f%19.0fx%n", String.format("V=%d, 4E/V", vertices),
+                    updateUs, rerunMs, rerunMs * 1_000 / updateUs);
+        }
+        System.out.println();
+    }
+
+    private static void compareClosures() {
+        System.out.println("=".repeat(70));
+        System.out.println("ROAD CLOSURES: REPLACEMENT INDEX vs FULL KRUSKAL RERUN");
+        System.out.println("=".repeat(70));
+        System.out.printf("%-22s%18s%18s%18s%16s%n", "Graph", "Random (us)", "Tree only (us)",
+                "Kruskal (ms)", "Index builds");
+
+        Random random = new Random(SEED);
+        for (int vertices : new int[]{1000, 20_000, 100_000}) {
+            Graph graph = Graph.randomConnected(vertices, 4 * vertices, MAX_WEIGHT, random);
+            graph.compact();
+            KruskalMST kruskal = new KruskalMST();
+            double rerunMs = measure(kruskal::findMST, Collections.singletonList(graph));
+            int closures = Math.min(10_000, graph.getEdgesCount() / 4);
+
+            // Uniformly random closures: most hit non-tree edges
+            DecrementalMST randomClosures = new DecrementalMST(graph, kruskal.findMST(graph));
+            List<Integer> order = new ArrayList<>();
+            for (int e = 0; e < graph.getEdgesCount(); e++) order.add(e);
+            Collections.shuffle(order, random);
+            long start = System.nanoTime();
+            for (int i = 0; i < closures; i++) randomClosures.deleteEdge(order.get(i));
+            double randomUs = (System.nanoTime() - start) / 1_000.0 / closures;
+
+            // Worst case: every closure hits the current tree
+            DecrementalMST treeClosures = new DecrementalMST(graph, kruskal.findMST(graph));
+            int treeDeletes = Math.min(200, vertices / 4);
+            start = System.nanoTime();
+            for (int i = 0, e = 0; i < treeDeletes; e++) {
+                int edge = order.get(e);
+                if (treeClosures.isTreeEdge(edge)) {
+                    treeClosures.deleteEdge(edge);
+                    i++;
+                }
+            }
+            double treeUs = (System.nanoTime() - start) / 1_000.0 / treeDeletes;
+
+            System.out.printf("%-22s%18.3f%18.3f%18.3f%16d%n", String.format("V=%d, 4E/V", vertices),
+                    randomUs, treeUs, rerunMs, randomClosures.getIndexBuildCount());
+        }
+        System.out.println();
+    }
+
+    private static void compareSensitivity() {
+        System.out.println("=".repeat(70));
+        System.out.println("EDGE SENSITIVITY: ONE PASS vs ONE KRUSKAL RERUN PER EDGE");
+        System.out.println("=".repeat(70));
+        System.out.printf("%-22s%16s%18s%22s%n", "Graph", "Pass (ms)", "Kruskal (ms)", "E reruns, est. (s)");
+
+        Random random = new Random(SEED);
+        for (int vertices : new int[]{1000, 20_000, 100_000}) {
+            Graph graph = Graph.randomConnected(vertices, 4 * vertices, MAX_WEIGHT, random);
+            graph.compact();
+            KruskalMST kruskal = new KruskalMST();
+            MSTResult mst = kruskal.findMST(graph);
+            double rerunMs = measure(kruskal::findMST, Collections.singletonList(graph));
+            double passMs = measureMillis(() -> new MSTSensitivity(graph, mst));
+
+            System.out.printf("%-22s%16.3f%18.3f%22.1f%n", String.format("V=%d, 4E/V", vertices),
+                    passMs, rerunMs, rerunMs * graph.getEdgesCount() / 1000.0);
+        }
+        System.out.println();
+    }
+
+    private static void compareVerification() {
+        System.out.println("=".repeat(70));
+        System.out.println("MST VERIFICATION vs CROSS-CHECKING WITH A SECOND ENGINE");
+        System.out.println("=".repeat(70));
+        System.out.printf("%-22s%16s%18s%16s%n", "Graph", "Kruskal (ms)", "Verify (ms)", "Prim (ms)");
+
+        Random random = new Random(SEED);
+        for (int vertices : new int[]{1000, 20_000, 100_000}) {
+            Graph graph = Graph.randomConnected(vertices, 4 * vertices, MAX_WEIGHT, random);
+            graph.compact();
+            KruskalMST kruskal = new KruskalMST();
+            MSTResult mst = kruskal.findMST(graph);
+            if (!new MSTVerifier(graph, mst).isValid()) {
+                throw new IllegalStateException("Kruskal tree failed verification");
+            }
+            double kruskalMs = measure(kruskal::findMST, Collections.singletonList(graph));
+            double verifyMs = measureMillis(() -> new MSTVerifier(graph, mst));
+            double primMs = measure(new PrimMST()::findMST, Collections.singletonList(graph));
+
+            System.out.printf("%-22s%16.3f%18.3f%16.3f%n", String.format("V=%d, 4E/V", vertices),
+                    kruskalMs, verifyMs, primMs);
+        }
+        System.out.println();
+    }
+
+    private static void compareBottleneckQueries() {
+        System.out.println("=".repeat(70));
+        System.out.println("BOTTLENECK QUERIES (million queries/s)");
+        System.out.println("=".repeat(70));
+        System.out.printf("%-22s%14s%16s%16s%18s%n", "Graph", "Build (ms)", "Sparse table",
+                "Binary lifting", "Tree walk (q/s)");
+
+        Random random = new Random(SEED);
+        int queries = 2_000_000;
+        for (int vertices : new int[]{1000, 20_000, 100_000}) {
+            Graph graph = Graph.randomConnected(vertices, 4 * vertices, MAX_WEIGHT, random);
+            MSTResult mst = new KruskalMST().findMST(graph);
+            int[] us = new int[queries];
+            int[] vs = new int[queries];
+            for (int i = 0; i < queries; i++) {
+                us[i] = random.nextInt(vertices);
+                vs[i] = random.nextInt(vertices);
+            }
+
+            BottleneckPathIndex index = new BottleneckPathIndex(mst);
+            double buildMs = measureMillis(() -> new BottleneckPathIndex(mst));
+            double indexRate = queryRate(queries, (u, v) -> index.bottleneck(u, v), us, vs);
+
+            int treeEdges = mst.getMstEdgesCount();
+            int[] sources = new int[treeEdges];
+            int[] destinations = new int[treeEdges];
+            long[] weights = new long[treeEdges];
+            for (int i = 0; i < treeEdges; i++) {
+                Edge edge = mst.getMstEdges().get(i);
+                sources[i] = edge.getSource();
+                destinations[i] = edge.getDestination();
+                weights[i] = edge.getWeight();
+            }
+            ForestPathMax lifting = new ForestPathMax(vertices, sources, destinations, weights, treeEdges);
+            double liftingRate = queryRate(queries, (u, v) -> (int) lifting.pathMax(u, v), us, vs);
+
+            // Baseline: search the MST edge list from u for every query
+            double walkRate = queryRate(Math.max(20, 2_000_000 / vertices),
+                    (u, v) -> walkBottleneck(mst, u, v), us, vs);
+
+            System.out.printf("%-22s%14.3f%16.2f%16.2f%18.1f%n", String.format("V=%d, 4E/V", vertices),
+                    buildMs, indexRate, liftingRate, walkRate * 1_000_000);
+        }
+        System.out.println();
+    }
+
+    private static double queryRate(int queries, IntBinaryOperator query, int[] us, int[] vs) {
+        int sink = 0;
+        for (int i = 0; i < Math.min(queries, 100_000); i++) sink ^= query.applyAsInt(us[i], vs[i]);
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) sink ^= query.applyAsInt(us[i], vs[i]);
+        long elapsed = System.nanoTime() - start;
+        querySink ^= sink;
+        return queries * 1_000.0 / elapsed;
+    }
+
+    private static int walkBottleneck(MSTResult mst, int source, int target) {
+        Graph tree = new Graph(mst.getVertices());
+        for (Edge edge : mst.getMstEdges()) {
+            tree.addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        }
+        int[] best = new int[mst.getVertices()];
+        Arrays.fill(best, -1);
+        best[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (Edge edge : tree.getAdjacentEdges(u)) {
+                int v = edge.getDestination() == u ? edge.getSource() : edge.getDestination();
+                if (best[v] >= 0 || v == source) continue;
+                best[v] = Math.max(best[u], edge.getWeight());
+                queue.add(v);
+            }
+        }
+        return best[target];
+    }
+
+    private static void compareEuclidean() {
+        System.out.println("=".repeat(70));
+        System.out.println("EUCLIDEAN MST: YAO GRAPH vs COMPLETE GRAPH");
+        System.out.println("=".repeat(70));
+        System.out.printf("%-14s%16s%14s%20s%14s%n", "Points", "Candidates", "Yao (ms)",
+                "Complete graph (ms)", "Cost match");
+
+        Random random = new Random(SEED);
+        for (int points : new int[]{1000, 3000, 20_000, 100_000}) {
+            double[] x = new double[points];
+            double[] y = new double[points];
+            for (int v = 0; v < points; v++) {
+                x[v] = random.nextDouble() * 100_000;
+                y[v] = random.nextDouble() * 100_000;
+            }
+            EuclideanMST euclidean = new EuclideanMST();
+            MSTResult result = euclidean.findMST(x, y);
+            double yaoMs = measureMillis(() -> euclidean.findMST(x, y));
+
+            // Every pair through Graph.addEdge, only feasible for small inputs
+            String completeMs = "-";
+            String match = "-";
+            if (points <= 3000) {
+                long start = System.nanoTime();
+                Graph complete = new Graph(points);
+                for (int u = 0; u < points; u++) {
+                    for (int v = u + 1; v < points; v++) {
+                        complete.addEdge(u, v, (int) Math.round(Math.hypot(x[u] - x[v], y[u] - y[v])));
+                    }
+                }
+                MSTResult expected = new KruskalMST().findMST(complete);
+                completeMs = String.format("%.1f", (System.nanoTime() - start) / 1_000_000.0);
+                match = String.valueOf(expected.getTotalCost() == result.getTotalCost());
+            }
+            System.out.printf("%-14d%16d%14.3f%20s%14s%n", points,
+                    euclidean.getCandidateCount(), yaoMs, completeMs, match);
+        }
+        System.out.println();
+    }
+
+    private static void compareStreaming() {
+        System.out.println("=".repeat(70));
+        System.out.println("SEMI-STREAMING MST vs IN-MEMORY KRUSKAL (V=100000)");
+        System.out.println("=".repeat(70));
+        System.out.printf("%-12s%14s%16s%18s%18s%20s%n", "Edges", "Read (ms)", "Stream (ms)",
+                "Stream heap (MB)", "Kruskal (ms)", "Graph heap (MB)");
+
+        int vertices = 100_000;
+        for (int edges : new int[]{1_000_000, 4_000_000, 16_000_000}) {
+            // Generating and parsing alone, included in both other timings
+            long readStart = System.nanoTime();
+            try {
+                EdgeStreamReader reader = new EdgeStreamReader(new GeneratedEdgeStream(vertices, edges, SEED));
+                while (reader.next()) {
+                    // drain
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            double readMs = (System.nanoTime() - readStart) / 1_000_000.0;
+
+            long before = usedHeap();
+            long start = System.nanoTime();
+            StreamingMST streaming = new StreamingMST(vertices);
+            try {
+                EdgeStreamReader reader = new EdgeStreamReader(new GeneratedEdgeStream(vertices, edges, SEED));
+                while (reader.next()) {
+                    streaming.addEdge(reader.getSource(), reader.getDestination(), reader.getWeight());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            double streamMs = (System.nanoTime() - start) / 1_000_000.0;
+            double streamMb = (usedHeap() - before) / 1e6;
+            long streamCost = streaming.getTotalCost();
+
+            // The same edges loaded as a Graph; skipped where they would not fit the heap
+            String kruskalMs = "-";
+            String graphMb = "-";
+            if (edges <= 4_000_000) {
+                streaming = null;
+                before = usedHeap();
+                start = System.nanoTime();
+                Graph graph = new Graph(vertices);
+                try {
+                    EdgeStreamReader reader = new EdgeStreamReader(new GeneratedEdgeStream(vertices, edges, SEED));
+                    while (reader.next()) {
+                        graph.addEdge(reader.getSource(), reader.getDestination(), reader.getWeight());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                double loadMs = (System.nanoTime() - start) / 1_000_000.0;
+                graphMb = String.format("%.1f", (usedHeap() - before) / 1e6);
+                start = System.nanoTime();
+                MSTResult result = new KruskalMST().findMST(graph);
+                kruskalMs = String.format("%.1f", loadMs + (System.nanoTime() - start) / 1_000_000.0);
+                if (result.getTotalCost() != streamCost) {
+                    throw new IllegalStateException("Streaming and Kruskal costs differ");
+                }
+            }
+            System.out.printf("%-12d%14.1f%16.1f%18.1f%18s%20s%n", edges, readMs, streamMs, streamMb,
+                    kruskalMs, graphMb);
+        }
+        System.out.println();
+    }
+
+    private static void compareExternalKruskal() {
+        System.out.println("=".repeat(70));
+        System.out.println("EXTERNAL-MEMORY KRUSKAL BY MEMORY BUDGET (V=100000)");
+        System.out.println("=".repeat(70));
+        System.out.printf("%-12s%12s%8s%14s%12s%12s%12s%12s%n", "Edges", "Budget (MB)", "Runs",
+                "Written (MB)", "Read (MB)", "Spill (ms)", "Merge (ms)", "Total (ms)");
+
+        int vertices = 100_000;
+        java.nio.file.Path tempDirectory = java.nio.file.Paths.get(System.getProperty("java.io.tmpdir"));
+        for (int edges : new int[]{4_000_000, 16_000_000}) {
+            long expectedCost = -1;
+            for (int budgetMb : new int[]{8, 32, 512}) {
+                ExternalKruskalMST external = new ExternalKruskalMST((long) budgetMb << 20, tempDirectory);
+                MSTResult result;
+                try {
+                    result = external.findMST(vertices, new GeneratedEdgeStream(vertices, edges, SEED));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (expectedCost >= 0 && result.getTotalCost() != expectedCost) {
+                    throw new IllegalStateException("External Kruskal costs differ between budgets");
+                }
+                expectedCost = result.getTotalCost();
+                System.out.printf("%-12d%12d%8d%14.1f%12.1f%12.1f%12.1f%12.1f%n", edges, budgetMb,
+                        external.getRunCount(), external.getBytesWritten() / 1e6, external.getBytesRead() / 1e6,
+                        external.getSpillTime(), external.getMergeTime(), result.getExecutionTime());
+            }
+        }
+        System.out.println();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Text edge stream produced on the fly: a random spanning tree first,
+     * then random edges, as "u v w" lines. Nothing is held in memory.
+     */
+    private static final class GeneratedEdgeStream extends InputStream {
+        private final int vertices;
+        private final int edges;
+        private final Random random;
+        private final byte[] line = new byte[40];
+        private int lineLength;
+        private int linePosition;
+        private int produced;
+
+        GeneratedEdgeStream(int vertices, int edges, long seed) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.random = new Random(seed);
+        }
+
+        @Override
+        public int read() {
+            if (linePosition == lineLength && !nextLine()) return -1;
+            return line[linePosition++];
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            int copied = 0;
+            while (copied < length) {
+                if (linePosition == lineLength && !nextLine()) break;
+                int n = Math.min(length - copied, lineLength - linePosition);
+                System.arraycopy(line, linePosition, target, offset + copied, n);
+                linePosition += n;
+                copied += n;
+            }
+            return copied == 0 && length > 0 ? -1 : copied;
+        }
+
+        private boolean nextLine() {
+            if (produced == edges) return false;
+            int u, v;
+            if (produced < vertices - 1) {
+                v = produced + 1;
+                u = random.nextInt(v);
+            } else {
+                u = random.nextInt(vertices);
+                v = random.nextInt(vertices);
+            }
+            produced++;
+            String text = u + " " + v + " " + (1 + random.nextInt(MAX_WEIGHT)) + "\n";
+            lineLength = 0;
+            for (int i = 0; i < text.length(); i++) line[lineLength++] = (byte) text.charAt(i);
+            linePosition = 0;
+            return true;
+        }
+    }
+
+    private static void compareConcurrentUnionFind() {
+        int elements = 1 << 20;
+        int operationsPerThread = 1 << 20;
+        System.out.println("=".repeat(70));
+        System.out.println("UNION-FIND THROUGHPUT: LOCK-STRIPED vs LOCK-FREE CAS (million ops/s)");
+        System.out.println("=".repeat(70));
+        System.out.printf("%-12s%20s%20s%n", "Threads", "Lock-striped", "Lock-free CAS");
+
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            // Half unions, half connectivity queries on uniformly random pairs
+            double striped = unionFindThroughput(threads, operationsPerThread, elements, () -> {
+                LockStripedDisjointSet set = new LockStripedDisjointSet(elements, 64);
+                return (a, b) -> ((a ^ b) & 1) == 0 ? (set.union(a, b) ? 1 : 0) : (set.connected(a, b) ? 1 : 0);
+            });
+            double lockFree = unionFindThroughput(threads, operationsPerThread, elements, () -> {
+                ConcurrentDisjointSet set = new ConcurrentDisjointSet(elements, SEED);
+                return (a, b) -> ((a ^ b) & 1) == 0 ? (set.union(a, b) ? 1 : 0) : (set.connected(a, b) ? 1 : 0);
+            });
+            System.out.printf("%-12d%20.2f%20.2f%n", threads, striped, lockFree);
+        }
+        System.out.println();
+    }
+
+    private static double unionFindThroughput(int threads, int operationsPerThread, int elements,
+                                              Supplier<IntBinaryOperator> factory) {
+        int[][] pairs = new int[threads][2 * operationsPerThread];
+        Random random = new Random(SEED);
+        for (int[] threadPairs : pairs) {
+            for (int i = 0; i < threadPairs.length; i++) threadPairs[i] = random.nextInt(elements);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            double best = 0;
+            for (int round = 0; round < 5; round++) {
+                IntBinaryOperator operation = factory.get();
+                List<Future<Integer>> futures = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int[] threadPairs : pairs) {
+                    futures.add(executor.submit(() -> {
+                        int hits = 0;
+                        for (int i = 0; i < threadPairs.length; i += 2) {
+                            hits += operation.applyAsInt(threadPairs[i], threadPairs[i + 1]);
+                        }
+                        return hits;
+                    }));
+                }
+                for (Future<Integer> future : futures) future.get();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                best = Math.max(best, (double) threads * operationsPerThread / seconds / 1e6);
+            }
+            return best;
+        } catch (Exception e) {
+            throw new IllegalStateException("Union-find benchmark failed", e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Baseline for the lock-free set: plain arrays, with each link made under
+     * the stripe locks of both roots after re-checking they are still roots.
+     */
+    static class LockStripedDisjointSet {
+        private final int[] parent;
+        private final int[] size;
+        private final ReentrantLock[] locks;
+
+        LockStripedDisjointSet(int n, int stripes) {
+            parent = new int[n];
+            size = new int[n];
+            for (int i = 0; i < n; i++) {
+                parent[i] = i;
+                size[i] = 1;
+            }
+            locks = new ReentrantLock[stripes];
+            for (int i = 0; i < stripes; i++) locks[i] = new ReentrantLock();
+        }
+
+        int find(int x) {
+            while (parent[x] != x) x = parent[x];
+            return x;
+        }
+
+        boolean connected(int x, int y) {
+            while (true) {
+                int rootX = find(x);
+                int rootY = find(y);
+                if (rootX == rootY) return true;
+                ReentrantLock lock = locks[rootX % locks.length];
+                lock.lock();
+                try {
+                    if (parent[rootX] == rootX) return false;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        boolean union(int x, int y) {
+            while (true) {
+                int rootX = find(x);
+                int rootY = find(y);
+                if (rootX == rootY) return false;
+
+                // Lock stripes in index order so two unions never wait on each other
+                int first = Math.min(rootX % locks.length, rootY % locks.length);
+                int second = Math.max(rootX % locks.length, rootY % locks.length);
+                locks[first].lock();
+                locks[second].lock();
+                try {
+                    if (parent[rootX] != rootX || parent[rootY] != rootY) continue;
+                    if (size[rootX] < size[rootY]) {
+                        int swap = rootX;
+                        rootX = rootY;
+                        rootY = swap;
+                    }
+                    parent[rootY] = rootX;
+                    size[rootX] += size[rootY];
+                    return true;
+                } finally {
+                    locks[second].unlock();
+                    locks[first].unlock();
+                }
+            }
+        }
+    }
+
+    private static void compareKruskalSorts() {
+        System.out.println("=".repeat(70));
+        System.out.println("KRUSKAL EDGE SORT: Collections.sort vs Arrays.sort vs LSD RADIX (ms)");
+        System.out.println("=".repeat(70));
+        System.out.printf("%-12s%20s%20s%20s%n", "Edges", "Collections.sort", "Arrays.sort keys", "Radix keys");
+
+        Random random = new Random(SEED);
+        for (int edges : new int[]{500, 1000, 2000, 4000, 16000, 100_000, 1_000_000}) {
+            int vertices = Math.max(2, edges / 4);
+            Graph graph = Graph.randomConnected(vertices, edges, MAX_WEIGHT, random);
+            graph.compact();
+            int rounds = Math.max(5, 2_000_000 / edges);
+
+            double objectSort = timeSort(rounds, () -> Collections.sort(graph.getEdgesList()));
+            double arraysSort = timeSort(rounds, () -> Arrays.sort(EdgeKeys.pack(graph)));
+            double radixSort = timeSort(rounds, () -> EdgeKeys.radixSort(EdgeKeys.pack(graph), graph.getMaxWeight()));
+            System.out.printf("%-12d%20.3f%20.3f%20.3f%n", edges, objectSort, arraysSort, radixSort);
+        }
+        System.out.println();
+    }
+
+    private static double timeSort(int rounds, Runnable sort) {
+        for (int i = 0; i < rounds; i++) sort.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) sort.run();
+        return (System.nanoTime() - start) / 1_000_000.0 / rounds;
+    }
+
+    static void runBuckets(String title, Map<String, Function<Graph, MSTResult>> engines,
+                           List<SizeBucket> buckets) {
+        System.out.println("=".repeat(70));
+        System.out.println(title);
+        System.out.println("=".repeat(70));
+
+        StringBuilder header = new StringBuilder(String.format("%-26s", "Bucket"));
+        for (String name : engines.keySet()) {
+            header.append(String.format("%20s", name));
+        }
+        System.out.println(header);
+
+        Random random = new Random(SEED);
+        for (SizeBucket bucket : buckets) {
+            List<Graph> graphs = generateBucket(bucket, random);
+
+            StringBuilder row = new StringBuilder(String.format("%-26s", bucket.name));
+            Integer referenceCost = null;
+            for (Map.Entry<String, Function<Graph, MSTResult>> engine : engines.entrySet()) {
+                double avgTime = measure(engine.getValue(), graphs);
+                int cost = totalCost(engine.getValue(), graphs);
+                if (referenceCost == null) {
+                    referenceCost = cost;
+                } else if (referenceCost != cost) {
+                    throw new IllegalStateException(engine.getKey() + " returned a different MST cost");
+                }
+                row.append(String.format("%20.3f", avgTime));
+            }
+            System.out.println(row);
+        }
+        System.out.println();
+    }
+
+    static List<Graph> generateBucket(SizeBucket bucket, Random random) {
+        List<Graph> graphs = new ArrayList<>();
+        for (int i = 0; i < GRAPHS_PER_BUCKET; i++) {
+            int vertices = bucket.minVertices + random.nextInt(bucket.maxVertices - bucket.minVertices + 1);
+            int edges = (int) Math.round(vertices * bucket.edgesPerVertex);
+            Graph graph = Graph.randomConnected(vertices, edges, MAX_WEIGHT, random);
+            graph.compact();
+            graphs.add(graph);
+        }
+        return graphs;
+    }
+
+    private static double measure(Function<Graph, MSTResult> engine, List<Graph> graphs) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (Graph graph : graphs) engine.apply(graph);
+        }
+
+        double totalTime = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (Graph graph : graphs) {
+                totalTime += engine.apply(graph).getExecutionTime();
+            }
+        }
+        return totalTime / (MEASURED_ROUNDS * graphs.size());
+    }
+
+    /**
+     * Mean wall time of a task that does not produce an MSTResult, with the
+     * same warmup and measured rounds as {@link #measure}.
+     */
+    private static double measureMillis(Runnable task) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) task.run();
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) task.run();
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+    }
+
+    private static int totalCost(Function<Graph, MSTResult> engine, List<Graph> graphs) {
+        int cost = 0;
+        for (Graph graph : graphs) cost += engine.apply(graph).getTotalCost();
+        return cost;
+    }
+}
@@ -1,5 +1,4 @@
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 public class MSTResult {
     private final String algorithmName;
@@ -9,6 +8,11 @@ public class MSTResult {
     private final int operationsCount;
     private final int vertices;
 
+    // Per-component breakdown of the spanning forest, components numbered by their smallest vertex
+    private final int componentCount;
+    private final int[] componentCosts;
+    private final int[] componentEdgeCounts;
+
     public MSTResult(String algorithmName, List<Edge> mstEdges, int totalCost,
                      double executionTimeMs, int operationsCount, int vertices) {
         this.algorithmName = algorithmName;
@@ -17,6 +21,30 @@ public class MSTResult {
         this.executionTimeMs = executionTimeMs;
         this.operationsCount = operationsCount;
         this.vertices = vertices;
+
+        // The forest edges alone determine the components, no pass over the graph is needed
+        DisjointSet forest = new DisjointSet(vertices);
+        for (Edge edge : mstEdges) {
+            forest.union(edge.getSource(), edge.getDestination());
+        }
+        int[] componentOf = new int[vertices];
+        int[] rootComponent = new int[vertices];
+        Arrays.fill(rootComponent, -1);
+        int components = 0;
+        for (int v = 0; v < vertices; v++) {
+            int root = forest.find(v);
+            if (rootComponent[root] < 0) rootComponent[root] = components++;
+            componentOf[v] = rootComponent[root];
+        }
+
+        this.componentCount = components;
+        this.componentCosts = new int[components];
+        this.componentEdgeCounts = new int[components];
+        for (Edge edge : mstEdges) {
+            int component = componentOf[edge.getSource()];
+            componentCosts[component] += edge.getWeight();
+            componentEdgeCounts[component]++;
+        }
     }
 
     // Getters
@@ -28,20 +56,76 @@ public class MSTResult {
     public int getVertices() { return vertices; }
     public int getMstEdgesCount() { return mstEdges.size(); }
 
-    // Validation methods
-    public boolean isValidMST() {
-        return mstEdges.size() == vertices - 1 && totalCost >= 0;
+    public int getComponentCount() { return componentCount; }
+    public int[] getComponentCosts() { return componentCosts.clone(); }
+    public int[] getComponentEdgeCounts() { return componentEdgeCounts.clone(); }
+
+    // True when the forest is a single tree over every vertex
+    public boolean isSpanningTree() { return componentCount <= 1; }
+
+    // Validation methods: a spanning forest of the graph has one tree per graph component,
+    // i.e. V - components edges. The forest's own components cannot tell a truncated forest apart.
+    public boolean isValidMST(Graph graph) {
+        return hasCorrectEdgeCount(graph) && totalCost >= 0;
+    }
+
+    public boolean hasCorrectEdgeCount(Graph graph) {
+        int expectedComponents = graph.getComponentCount();
+        return graph.getVerticesCount() == vertices && componentCount == expectedComponents
+                && mstEdges.size() == vertices - expectedComponents;
     }
 
-    public boolean hasCorrectEdgeCount() {
-        return mstEdges.size() == vertices - 1;
+    /**
+     * Maps the tree edges back to edge indices of the graph they came from,
+     * matching endpoints in either orientation and the weight. Throws if an
+     * edge has no unused match, i.e. the result is not from this graph.
+     */
+    public int[] findEdgeIds(Graph graph) {
+        // Graph edges bucketed by their smaller endpoint, in index order
+        int vertexCount = graph.getVerticesCount();
+        int edgeCount = graph.getEdgesCount();
+        int[] offsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[Math.min(graph.getEdgeSource(e), graph.getEdgeDestination(e)) + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) offsets[v + 1] += offsets[v];
+        int[] cursor = Arrays.copyOf(offsets, vertexCount);
+        int[] bucketed = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            bucketed[cursor[Math.min(graph.getEdgeSource(e), graph.getEdgeDestination(e))]++] = e;
+        }
+
+        int[] ids = new int[mstEdges.size()];
+        boolean[] used = new boolean[edgeCount];
+        for (int i = 0; i < ids.length; i++) {
+            Edge edge = mstEdges.get(i);
+            int low = Math.min(edge.getSource(), edge.getDestination());
+            int high = Math.max(edge.getSource(), edge.getDestination());
+            int match = -1;
+            if (low >= 0 && high < vertexCount) {
+                for (int j = offsets[low]; j < offsets[low + 1] && match < 0; j++) {
+                    int e = bucketed[j];
+                    if (!used[e] && Math.max(graph.getEdgeSource(e), graph.getEdgeDestination(e)) == high
+                            && graph.getEdgeWeight(e) == edge.getWeight()) {
+                        match = e;
+                    }
+                }
+            }
+            if (match < 0) {
+                throw new IllegalArgumentException("MST edge " + edge + " is not an edge of the graph");
+            }
+            used[match] = true;
+            ids[i] = match;
+        }
+        return ids;
     }
 
     @Override
     public String toString() {
-        return String.format("%s: Cost=%d, Time=%.3fms, Operations=%d, Edges=%d/%d",
+        String summary = String.format("%s: Cost=%d, Time=%.3fms, Operations=%d, Edges=%d/%d",
                 algorithmName, totalCost, executionTimeMs, operationsCount,
-                mstEdges.size(), vertices - 1);
+                mstEdges.size(), vertices - componentCount);
+        return componentCount > 1 ? summary + ", Components=" + componentCount : summary;
     }
 
     public String toDetailedString() {
@@ -50,8 +134,14 @@ public class MSTResult {
         sb.append("  Total Cost: ").append(totalCost).append("\n");
         sb.append("  Execution Time: ").append(String.format("%.3f", executionTimeMs)).append(" ms\n");
         sb.append("  Operations Count: ").append(operationsCount).append("\n");
-        sb.append("  MST Edges: ").append(mstEdges.size()).append("/").append(vertices - 1).append("\n");
-        sb.append("  Valid MST: ").append(isValidMST()).append("\n");
+        sb.append("  MST Edges: ").append(mstEdges.size()).append("/").append(vertices - componentCount).append("\n");
+        if (componentCount > 1) {
+            sb.append("  Components: ").append(componentCount).append("\n");
+            for (int c = 0; c < componentCount; c++) {
+                sb.append("    #").append(c + 1).append(": cost=").append(componentCosts[c])
+                        .append(", edges=").append(componentEdgeCounts[c]).append("\n");
+            }
+        }
 
         sb.append("  Selected Edges:\n");
         for (Edge edge : mstEdges) {
@@ -0,0 +1,100 @@
+/**
+ * Checks that a result is a minimum spanning forest of a graph without
+ * computing a second one. A forest of graph edges is minimum exactly when
+ * no non-tree edge is lighter than the heaviest tree edge on the cycle it
+ * closes (cycle property), and spanning when no non-tree edge joins two of
+ * its trees. Both come from one {@link BottleneckPathIndex} query per
+ * edge, so verification is O(E + V log V) and, unlike comparing
+ * costs between engines, proves minimality.
+ *
+ * Before that every tree edge is looked up in the graph and the edges are
+ * summed against the reported cost; the index itself rejects cycles. The
+ * first failed check is kept as a message.
+ */
+public class MSTVerifier {
+    /** Returned by {@link #getViolatingEdge} when no edge failed */
+    public static final int NONE = -1;
+
+    private final String failure;
+    private int violatingEdge = NONE;
+    private int queryCount;
+    private final double executionTimeMs;
+
+    public MSTVerifier(Graph graph, MSTResult mst) {
+        long startTime = System.nanoTime();
+        this.failure = verify(graph, mst);
+        this.executionTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+    }
+
+    public boolean isValid() { return failure == null; }
+    /** Why verification failed, or null when the forest is a minimum spanning forest */
+    public String getFailure() { return failure; }
+    /** Graph edge that breaks the cycle property or joins two trees, or {@link #NONE} */
+    public int getViolatingEdge() { return violatingEdge; }
+    public int getQueryCount() { return queryCount; }
+    public double getExecutionTime() { return executionTimeMs; }
+
+    private String verify(Graph graph, MSTResult mst) {
+        int vertices = graph.getVerticesCount();
+        int edgeCount = graph.getEdgesCount();
+        if (mst.getVertices() != vertices) {
+            return "Result has " + mst.getVertices() + " vertices, graph has " + vertices;
+        }
+
+        long cost = 0;
+        for (Edge edge : mst.getMstEdges()) {
+            if (!isGraphEdge(graph, edge)) {
+                return "MST edge " + edge + " is not an edge of the graph";
+            }
+            cost += edge.getWeight();
+        }
+        if (cost != mst.getTotalCost()) {
+            return "Reported cost " + mst.getTotalCost() + " differs from the edge sum " + cost;
+        }
+
+        BottleneckPathIndex index;
+        try {
+            index = new BottleneckPathIndex(mst);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        // Tree edges pass trivially, so every edge is checked and no tree edge ids are needed
+        for (int e = 0; e < edgeCount; e++) {
+            int u = graph.getEdgeSource(e);
+            int v = graph.getEdgeDestination(e);
+            queryCount++;
+            int heaviest = index.bottleneck(u, v);
+            if (heaviest == BottleneckPathIndex.NO_PATH && !index.connected(u, v)) {
+                violatingEdge = e;
+                return "Forest is not spanning: edge " + e + " joins two of its trees";
+            }
+            if (graph.getEdgeWeight(e) < heaviest) {
+                violatingEdge = e;
+                return "Edge " + e + " of weight " + graph.getEdgeWeight(e)
+                        + " is lighter than tree edge weight " + heaviest + " on its cycle";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scans the adjacency of the endpoint with the smaller degree. Rooting
+     * the forest, that costs at most the child's degree, and every vertex is
+     * the child of one tree edge at most, so all tree edges take O(E).
+     */
+    private static boolean isGraphEdge(Graph graph, Edge edge) {
+        int u = edge.getSource();
+        int v = edge.getDestination();
+        int vertices = graph.getVerticesCount();
+        if (u >= vertices || v >= vertices) return false;
+        if (graph.getDegree(u) > graph.getDegree(v)) {
+            int swap = u;
+            u = v;
+            v = swap;
+        }
+        for (int i = 0, degree = graph.getDegree(u); i < degree; i++) {
+            if (graph.getNeighbor(u, i) == v && graph.getNeighborWeight(u, i) == edge.getWeight()) return true;
+        }
+        return false;
+    }
+}
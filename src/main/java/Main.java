@@ -35,15 +35,21 @@ public class Main {
         // Test MST algorithms on the demo graph
         PrimMST prim = new PrimMST();
         KruskalMST kruskal = new KruskalMST();
+        BoruvkaMST boruvka = new BoruvkaMST();
 
         MSTResult primResult = prim.findMST(cityNetwork);
         MSTResult kruskalResult = kruskal.findMST(cityNetwork);
+        MSTResult boruvkaResult = boruvka.findMST(cityNetwork);
 
         System.out.println("\nMST Algorithm Results:");
         System.out.println("  Prim MST Cost: " + primResult.getTotalCost());
         System.out.println("  Kruskal MST Cost: " + kruskalResult.getTotalCost());
-        System.out.println("  Costs Match: " + (primResult.getTotalCost() == kruskalResult.getTotalCost()));
-        System.out.println("  Both Valid: " + (primResult.isValidMST() && kruskalResult.isValidMST()));
+        System.out.println("  Borůvka MST Cost: " + boruvkaResult.getTotalCost());
+        System.out.println("  Costs Match: " + (primResult.getTotalCost() == kruskalResult.getTotalCost()
+                && boruvkaResult.getTotalCost() == kruskalResult.getTotalCost()));
+        System.out.println("  All Verified: " + (new MSTVerifier(cityNetwork, primResult).isValid()
+                && new MSTVerifier(cityNetwork, kruskalResult).isValid()
+                && new MSTVerifier(cityNetwork, boruvkaResult).isValid()));
 
         // Generate visualization
         try {
@@ -58,11 +64,8 @@ public class Main {
 
     // Helper method to get adjacent vertices of a node
     private static List<Integer> getAdjacentVertices(Graph graph, int vertex) {
-        List<Integer> adjacent = new ArrayList<>();
-        for (Edge edge : graph.getAdjacentEdges(vertex)) {
-            int otherVertex = (edge.getSource() == vertex) ? edge.getDestination() : edge.getSource();
-            adjacent.add(otherVertex);
-        }
+        List<Integer> adjacent = new ArrayList<>(graph.getDegree(vertex));
+        graph.forEachNeighbor(vertex, (neighbor, weight) -> adjacent.add(neighbor));
         return adjacent;
     }
 
@@ -71,76 +74,122 @@ public class Main {
         String inputFile = "src/main/resources/input.json";
         String outputFile = "src/main/resources/output.json";
 
-        System.out.println("Reading graphs from: " + inputFile);
-        List<JSONProcessor.GraphData> graphDataList = JSONProcessor.readInputFile(inputFile);
+        System.out.println("Streaming graphs from: " + inputFile + "\n");
+
+        // Each graph's result is written as soon as the graph is processed; only the
+        // few numbers the summary needs are kept, so one graph is in memory at a time
+        List<GraphSummary> summaries = new ArrayList<>();
+        int total;
+        System.out.println("Writing results to: " + outputFile + "\n");
+        try (JSONProcessor.OutputWriter writer = new JSONProcessor.OutputWriter(outputFile)) {
+            total = JSONProcessor.streamInputFile(inputFile, graphData -> {
+                JSONProcessor.OutputResult result = processGraph(graphData, summaries.size() + 1);
+                try {
+                    writer.write(result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                summaries.add(new GraphSummary(result));
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        System.out.println("Processed " + total + " graphs");
 
-        System.out.println("Found " + graphDataList.size() + " graphs to process\n");
+        printSummary(summaries);
+        printDetailedAnalysis(summaries);
 
-        List<JSONProcessor.OutputResult> results = new ArrayList<>();
-        int processed = 0;
-        int total = graphDataList.size();
+        // Generate CSV analytics
+        generateCSVFiles(outputFile);
+    }
 
-        // Process each graph
-        for (JSONProcessor.GraphData graphData : graphDataList) {
-            processed++;
-            System.out.printf("[%d/%d] Processing Graph ID: %d%n",
-                    processed, total, graphData.id);
-            System.out.println("   Vertices: " + graphData.graph.getVerticesCount());
-            System.out.println("   Edges: " + graphData.graph.getEdgesCount());
-            System.out.println("   Connected: " + graphData.graph.isConnected());
+    private static JSONProcessor.OutputResult processGraph(JSONProcessor.GraphData graphData, int processed) {
+        System.out.printf("[%d] Processing Graph ID: %d%n", processed, graphData.id);
+        System.out.println("   Vertices: " + graphData.graph.getVerticesCount());
+        System.out.println("   Edges: " + graphData.graph.getEdgesCount());
+        System.out.println("   Connected: " + graphData.graph.isConnected());
 
-            if (!graphData.graph.isConnected()) {
-                System.out.println("   Skipping disconnected graph");
-                continue;
-            }
+        if (!graphData.graph.isConnected()) {
+            System.out.println("   Disconnected: computing a minimum spanning forest");
+        }
 
-            // Run algorithms
-            PrimMST prim = new PrimMST();
-            KruskalMST kruskal = new KruskalMST();
-
-            MSTResult primResult = prim.findMST(graphData.graph);
-            MSTResult kruskalResult = kruskal.findMST(graphData.graph);
-
-            // Validate results
-            boolean costsMatch = primResult.getTotalCost() == kruskalResult.getTotalCost();
-            boolean bothValid = primResult.isValidMST() && kruskalResult.isValidMST();
-
-            System.out.printf("   Prim: cost=%d, time=%.3fms, ops=%d%n",
-                    primResult.getTotalCost(), primResult.getExecutionTime(),
-                    primResult.getOperationsCount());
-            System.out.printf("   Kruskal: cost=%d, time=%.3fms, ops=%d%n",
-                    kruskalResult.getTotalCost(), kruskalResult.getExecutionTime(),
-                    kruskalResult.getOperationsCount());
-            System.out.println("   Validation: costsMatch=" + costsMatch +
-                    ", bothValid=" + bothValid);
-
-            // Convert to output format
-            JSONProcessor.OutputResult outputResult = JSONProcessor.convertToOutputResult(
-                    graphData.id, graphData.nodeNames, primResult, kruskalResult);
-
-            // Set correct edge count
-            outputResult.input_stats.edges = graphData.graph.getEdgesCount();
-
-            results.add(outputResult);
-
-            // Show progress every 5 graphs
-            if (processed % 5 == 0) {
-                System.out.printf("Progress: %d/%d (%.1f%%)%n%n",
-                        processed, total, (processed * 100.0 / total));
-            } else {
-                System.out.println();
-            }
+        // Run algorithms
+        PrimMST prim = new PrimMST();
+        KruskalMST kruskal = new KruskalMST();
+        BoruvkaMST boruvka = new BoruvkaMST();
+
+        MSTResult primResult = prim.findMST(graphData.graph);
+        MSTResult kruskalResult = kruskal.findMST(graphData.graph);
+        MSTResult boruvkaResult = boruvka.findMST(graphData.graph);
+
+        // Verify every tree against the graph; matching costs alone do not prove minimality
+        MSTVerifier primCheck = new MSTVerifier(graphData.graph, primResult);
+        MSTVerifier kruskalCheck = new MSTVerifier(graphData.graph, kruskalResult);
+        MSTVerifier boruvkaCheck = new MSTVerifier(graphData.graph, boruvkaResult);
+
+        System.out.printf("   Prim: cost=%d, time=%.3fms, ops=%d%n",
+                primResult.getTotalCost(), primResult.getExecutionTime(),
+                primResult.getOperationsCount());
+        System.out.printf("   Kruskal: cost=%d, time=%.3fms, ops=%d%n",
+                kruskalResult.getTotalCost(), kruskalResult.getExecutionTime(),
+                kruskalResult.getOperationsCount());
+        System.out.printf("   Borůvka: cost=%d, time=%.3fms, ops=%d%n",
+                boruvkaResult.getTotalCost(), boruvkaResult.getExecutionTime(),
+                boruvkaResult.getOperationsCount());
+        System.out.printf("   Verification: prim=%b (%.3fms), kruskal=%b (%.3fms), boruvka=%b (%.3fms)%n",
+                primCheck.isValid(), primCheck.getExecutionTime(),
+                kruskalCheck.isValid(), kruskalCheck.getExecutionTime(),
+                boruvkaCheck.isValid(), boruvkaCheck.getExecutionTime());
+        for (MSTVerifier check : Arrays.asList(primCheck, kruskalCheck, boruvkaCheck)) {
+            if (!check.isValid()) System.out.println("   Verification failed: " + check.getFailure());
+        }
+        if (!kruskalResult.isSpanningTree()) {
+            System.out.println("   Components: " + kruskalResult.getComponentCount()
+                    + ", costs=" + Arrays.toString(kruskalResult.getComponentCosts())
+                    + ", edges=" + Arrays.toString(kruskalResult.getComponentEdgeCounts()));
         }
 
-        // Write results to output file
-        System.out.println("Writing results to: " + outputFile);
-        JSONProcessor.writeOutputFile(outputFile, results);
+        // Convert to output format
+        JSONProcessor.OutputResult outputResult = JSONProcessor.convertToOutputResult(
+                graphData.id, graphData.nodeNames, primResult, kruskalResult);
 
-        printSummary(results);
-        printDetailedAnalysis(results);
+        // Set correct edge count
+        outputResult.input_stats.edges = graphData.graph.getEdgesCount();
 
-        // Generate CSV analytics
-        generateCSVFiles(outputFile);
+        // Per-edge failure cost and weight tolerance
+        MSTSensitivity sensitivity = new MSTSensitivity(graphData.graph, kruskalResult);
+        outputResult.sensitivity = JSONProcessor.convertSensitivity(
+                graphData.graph, graphData.nodeNames, sensitivity);
+        System.out.printf("   Sensitivity: %d edges analyzed in %.3fms%n",
+                sensitivity.getEdgeCount(), sensitivity.getExecutionTime());
+
+        // Show progress every 5 graphs
+        if (processed % 5 == 0) {
+            System.out.printf("Progress: %d graphs%n%n", processed);
+        } else {
+            System.out.println();
+        }
+        return outputResult;
+    }
+
+    // What the summary and the analysis tables need from one graph's result
+    private static final class GraphSummary {
+        final int vertices;
+        final int edges;
+        final double primTime;
+        final double kruskalTime;
+        final int primOps;
+        final int kruskalOps;
+
+        GraphSummary(JSONProcessor.OutputResult result) {
+            vertices = result.input_stats.vertices;
+            edges = result.input_stats.edges;
+            primTime = result.prim.execution_time_ms;
+            kruskalTime = result.kruskal.execution_time_ms;
+            primOps = result.prim.operations_count;
+            kruskalOps = result.kruskal.operations_count;
+        }
     }
 
     private static void generateCSVFiles(String outputJsonFile) {
@@ -150,7 +199,8 @@ public class Main {
                     outputJsonFile,
                     "src/main/resources/results_analysis.csv",
                     "src/main/resources/summary_statistics.csv",
-                    "src/main/resources/chart_data.csv"
+                    "src/main/resources/chart_data.csv",
+                    "src/main/resources/sensitivity_analysis.csv"
             );
             System.out.println("CSV analysis files created!");
         } catch (Exception e) {
@@ -158,7 +208,7 @@ public class Main {
         }
     }
 
-    private static void printSummary(List<JSONProcessor.OutputResult> results) {
+    private static void printSummary(List<GraphSummary> results) {
         System.out.println("\n" + "=".repeat(60));
         System.out.println("PROCESSING SUMMARY");
         System.out.println("=".repeat(60));
@@ -171,15 +221,15 @@ public class Main {
         int primWins = 0;
         int kruskalWins = 0;
 
-        for (JSONProcessor.OutputResult result : results) {
-            totalPrimTime += result.prim.execution_time_ms;
-            totalKruskalTime += result.kruskal.execution_time_ms;
-            totalPrimOps += result.prim.operations_count;
-            totalKruskalOps += result.kruskal.operations_count;
+        for (GraphSummary result : results) {
+            totalPrimTime += result.primTime;
+            totalKruskalTime += result.kruskalTime;
+            totalPrimOps += result.primOps;
+            totalKruskalOps += result.kruskalOps;
 
-            if (result.prim.execution_time_ms < result.kruskal.execution_time_ms) {
+            if (result.primTime < result.kruskalTime) {
                 primWins++;
-            } else if (result.kruskal.execution_time_ms < result.prim.execution_time_ms) {
+            } else if (result.kruskalTime < result.primTime) {
                 kruskalWins++;
             }
         }
@@ -204,37 +254,37 @@ public class Main {
         }
     }
 
-    private static void printDetailedAnalysis(List<JSONProcessor.OutputResult> results) {
+    private static void printDetailedAnalysis(List<GraphSummary> results) {
         System.out.println("\n" + "=".repeat(70));
         System.out.println("DETAILED PERFORMANCE ANALYSIS BY GRAPH SIZE");
         System.out.println("=".repeat(70));
 
-        Map<String, List<JSONProcessor.OutputResult>> sizeGroups = new HashMap<>();
+        Map<String, List<GraphSummary>> sizeGroups = new HashMap<>();
         sizeGroups.put("Small (5-30)", results.subList(0, 5));
         sizeGroups.put("Medium (50-300)", results.subList(5, 15));
         sizeGroups.put("Large (350-1000)", results.subList(15, 25));
         sizeGroups.put("Extra Large (1200-3000)", results.subList(25, 30));
 
-        for (Map.Entry<String, List<JSONProcessor.OutputResult>> entry : sizeGroups.entrySet()) {
+        for (Map.Entry<String, List<GraphSummary>> entry : sizeGroups.entrySet()) {
             String size = entry.getKey();
-            List<JSONProcessor.OutputResult> groupResults = entry.getValue();
+            List<GraphSummary> groupResults = entry.getValue();
 
             double avgPrimTime = groupResults.stream()
-                    .mapToDouble(r -> r.prim.execution_time_ms)
+                    .mapToDouble(r -> r.primTime)
                     .average().orElse(0);
             double avgKruskalTime = groupResults.stream()
-                    .mapToDouble(r -> r.kruskal.execution_time_ms)
+                    .mapToDouble(r -> r.kruskalTime)
                     .average().orElse(0);
 
             int avgPrimOps = (int) groupResults.stream()
-                    .mapToInt(r -> r.prim.operations_count)
+                    .mapToInt(r -> r.primOps)
                     .average().orElse(0);
             int avgKruskalOps = (int) groupResults.stream()
-                    .mapToInt(r -> r.kruskal.operations_count)
+                    .mapToInt(r -> r.kruskalOps)
                     .average().orElse(0);
 
             long primWinsInCategory = groupResults.stream()
-                    .filter(r -> r.prim.execution_time_ms < r.kruskal.execution_time_ms)
+                    .filter(r -> r.primTime < r.kruskalTime)
                     .count();
             long kruskalWinsInCategory = groupResults.size() - primWinsInCategory;
 
@@ -248,19 +298,19 @@ public class Main {
         printDensityAnalysis(results);
     }
 
-    private static void printDensityAnalysis(List<JSONProcessor.OutputResult> results) {
+    private static void printDensityAnalysis(List<GraphSummary> results) {
         System.out.println("\n" + "=".repeat(70));
         System.out.println("PERFORMANCE ANALYSIS BY GRAPH DENSITY");
         System.out.println("=".repeat(70));
 
-        Map<String, List<JSONProcessor.OutputResult>> densityGroups = new LinkedHashMap<>();
+        Map<String, List<GraphSummary>> densityGroups = new LinkedHashMap<>();
         densityGroups.put("Very Sparse (<0.1)", new ArrayList<>());
         densityGroups.put("Sparse (0.1-0.3)", new ArrayList<>());
         densityGroups.put("Medium (0.3-0.6)", new ArrayList<>());
         densityGroups.put("Dense (>0.6)", new ArrayList<>());
 
-        for (JSONProcessor.OutputResult result : results) {
-            double density = calculateDensity(result.input_stats.vertices, result.input_stats.edges);
+        for (GraphSummary result : results) {
+            double density = calculateDensity(result.vertices, result.edges);
             String densityCategory;
 
             if (density < 0.1) densityCategory = "Very Sparse (<0.1)";
@@ -271,25 +321,25 @@ public class Main {
             densityGroups.get(densityCategory).add(result);
         }
 
-        for (Map.Entry<String, List<JSONProcessor.OutputResult>> entry : densityGroups.entrySet()) {
+        for (Map.Entry<String, List<GraphSummary>> entry : densityGroups.entrySet()) {
             String densityCategory = entry.getKey();
-            List<JSONProcessor.OutputResult> groupResults = entry.getValue();
+            List<GraphSummary> groupResults = entry.getValue();
 
             if (groupResults.isEmpty()) continue;
 
             double avgDensity = groupResults.stream()
-                    .mapToDouble(r -> calculateDensity(r.input_stats.vertices, r.input_stats.edges))
+                    .mapToDouble(r -> calculateDensity(r.vertices, r.edges))
                     .average().orElse(0);
 
             double avgPrimTime = groupResults.stream()
-                    .mapToDouble(r -> r.prim.execution_time_ms)
+                    .mapToDouble(r -> r.primTime)
                     .average().orElse(0);
             double avgKruskalTime = groupResults.stream()
-                    .mapToDouble(r -> r.kruskal.execution_time_ms)
+                    .mapToDouble(r -> r.kruskalTime)
                     .average().orElse(0);
 
             long primWins = groupResults.stream()
-                    .filter(r -> r.prim.execution_time_ms < r.kruskal.execution_time_ms)
+                    .filter(r -> r.primTime < r.kruskalTime)
                     .count();
 
             System.out.printf("%-20s: %2d graphs, density: %.3f%n", densityCategory, groupResults.size(), avgDensity);
@@ -1,14 +1,127 @@
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 public class PrimMST {
+    /**
+     * Priority queue strategy used to pick the next vertex.
+     */
+    public enum Variant {
+        /** Edge-based PriorityQueue with stale entries, O(E) queue size */
+        LAZY,
+        /** Vertex-indexed d-ary heap with decrease-key, at most V entries */
+        INDEXED_HEAP,
+        /** O(V^2) array scan over a primitive weight matrix, for dense graphs */
+        DENSE,
+        /** Indexed bucket queue over the graph's weight range, O(1) queue updates */
+        BUCKET,
+        /** DENSE at or above the density threshold, else BUCKET for narrow weight ranges, else INDEXED_HEAP */
+        AUTO,
+        /** Several trees grown concurrently from different seeds, then joined by Kruskal */
+        PARALLEL
+    }
+
+    public static final double DEFAULT_DENSE_THRESHOLD = 0.6;
+    public static final int MAX_BUCKET_RANGE = 4096;
+    public static final int BUCKET_VERTICES_PER_KEY = 4;
+    /** Below this vertex count the parallel variant runs the indexed heap instead */
+    public static final int PARALLEL_THRESHOLD = 1024;
+
+    private static final int HEAP_ARITY = 4;
+    private static final int NO_EDGE = Integer.MAX_VALUE;
+    private static final int MAX_MATRIX_VERTICES = 46_340; // V * V must fit in an int
+
+    private final Variant variant;
+    private final double denseThreshold;
+    private final ForkJoinPool pool;
     private int comparisonCount;
     private int assignmentCount;
     private int queueOperations;
 
+    public PrimMST() {
+        this(Variant.AUTO, DEFAULT_DENSE_THRESHOLD);
+    }
+
+    public PrimMST(Variant variant) {
+        this(variant, DEFAULT_DENSE_THRESHOLD);
+    }
+
+    public PrimMST(double denseThreshold) {
+        this(Variant.AUTO, denseThreshold);
+    }
+
+    public PrimMST(Variant variant, double denseThreshold) {
+        this(variant, denseThreshold, ForkJoinPool.commonPool());
+    }
+
+    public PrimMST(Variant variant, ForkJoinPool pool) {
+        this(variant, DEFAULT_DENSE_THRESHOLD, pool);
+    }
+
+    private PrimMST(Variant variant, double denseThreshold, ForkJoinPool pool) {
+        if (!(denseThreshold >= 0)) {
+            throw new IllegalArgumentException("Dense threshold must be non-negative");
+        }
+        this.variant = variant;
+        this.denseThreshold = denseThreshold;
+        this.pool = pool;
+    }
+
+    public Variant getVariant() { return variant; }
+    public double getDenseThreshold() { return denseThreshold; }
+
+    /**
+     * Resolves AUTO to the concrete variant that would run on this graph.
+     */
+    public Variant selectVariant(Graph graph) {
+        if (variant != Variant.AUTO) return variant;
+        if (graph.getDensity() >= denseThreshold && graph.getVerticesCount() <= MAX_MATRIX_VERTICES) {
+            return Variant.DENSE;
+        }
+        // Buckets pay off once the frontier is large relative to the key range;
+        // otherwise poll spends its time scanning empty buckets
+        if (hasNarrowWeightRange(graph)
+                && ((long) graph.getMaxWeight() - graph.getMinWeight() + 1) * BUCKET_VERTICES_PER_KEY
+                <= graph.getVerticesCount()) {
+            return Variant.BUCKET;
+        }
+        return Variant.INDEXED_HEAP;
+    }
+
+    private static boolean hasNarrowWeightRange(Graph graph) {
+        return (long) graph.getMaxWeight() - graph.getMinWeight() < MAX_BUCKET_RANGE;
+    }
+
     public MSTResult findMST(Graph graph) {
         long startTime = System.nanoTime();
         resetCounters();
 
+        switch (selectVariant(graph)) {
+            case BUCKET:
+                // Weight ranges too wide for buckets fall back to the heap
+                if (hasNarrowWeightRange(graph)) {
+                    return findMSTEager(graph, new IndexedBucketQueue(graph.getVerticesCount(),
+                            graph.getMinWeight(), graph.getMaxWeight()), startTime);
+                }
+                return findMSTEager(graph, new IndexedDaryHeap(graph.getVerticesCount(), HEAP_ARITY), startTime);
+            case INDEXED_HEAP:
+                return findMSTEager(graph, new IndexedDaryHeap(graph.getVerticesCount(), HEAP_ARITY), startTime);
+            case DENSE:
+                return findMSTDense(graph, startTime);
+            case PARALLEL:
+                if (graph.getVerticesCount() >= PARALLEL_THRESHOLD && pool.getParallelism() > 1) {
+                    return findMSTParallel(graph, startTime);
+                }
+                return findMSTEager(graph, new IndexedDaryHeap(graph.getVerticesCount(), HEAP_ARITY), startTime);
+            default:
+                break;
+        }
+
+        if (graph.isCompact()) {
+            return findMSTCompact(graph.getCSR(), startTime);
+        }
+
         int vertices = graph.getVerticesCount();
         boolean[] inMST = new boolean[vertices];
         List<Edge> mstEdges = new ArrayList<>();
@@ -20,51 +133,391 @@ public class PrimMST {
             return Integer.compare(e1.getWeight(), e2.getWeight());
         });
 
-        // Start from vertex 0
-        inMST[0] = true;
-        assignmentCount++;
+        // Grow one tree per component, restarting from the lowest vertex not yet reached
+        for (int root = 0; root < vertices && mstEdges.size() < vertices - 1; root++) {
+            if (inMST[root]) continue;
+            inMST[root] = true;
+            assignmentCount++;
 
-        // Add all edges from vertex 0 to the priority queue
-        for (Edge edge : graph.getAdjacentEdges(0)) {
-            pq.offer(edge);
-            queueOperations++;
+            // Add all edges from the root to the priority queue
+            for (int i = 0, degree = graph.getDegree(root); i < degree; i++) {
+                pq.offer(graph.getAdjacentEdge(root, i));
+                queueOperations++;
+            }
+
+            while (!pq.isEmpty() && mstEdges.size() < vertices - 1) {
+                Edge edge = pq.poll();
+                queueOperations++;
+
+                int u = edge.getSource();
+                int v = edge.getDestination();
+
+                // Skip if both vertices are already in MST (would create cycle)
+                comparisonCount++;
+                if (inMST[u] && inMST[v]) {
+                    continue;
+                }
+
+                // Add edge to MST
+                mstEdges.add(edge);
+                totalCost += edge.getWeight();
+                assignmentCount += 2;
+
+                // Find the vertex not yet in MST
+                int newVertex = inMST[u] ? v : u;
+
+                // Mark new vertex as visited
+                inMST[newVertex] = true;
+                assignmentCount++;
+
+                // Add all edges from the new vertex that connect to unvisited vertices
+                for (int i = 0, degree = graph.getDegree(newVertex); i < degree; i++) {
+                    comparisonCount++;
+                    if (!inMST[graph.getNeighbor(newVertex, i)]) {
+                        pq.offer(graph.getAdjacentEdge(newVertex, i));
+                        queueOperations++;
+                    }
+                }
+            }
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        int totalOperations = comparisonCount + assignmentCount + queueOperations;
+
+        return new MSTResult("Prim's Algorithm", mstEdges, totalCost,
+                executionTimeMs, totalOperations, vertices);
+    }
+
+    /**
+     * Same lazy Prim, but running directly on the CSR arrays. Heap entries are
+     * packed as (weight << 32 | half-edge slot) so no Edge objects are queued.
+     */
+    private MSTResult findMSTCompact(CSRGraph csr, long startTime) {
+        int vertices = csr.vertices;
+        boolean[] inMST = new boolean[vertices];
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+
+        LongMinHeap heap = new LongMinHeap(16);
+        for (int root = 0; root < vertices && mstEdges.size() < vertices - 1; root++) {
+            if (inMST[root]) continue;
+            inMST[root] = true;
+            assignmentCount++;
+            pushCompactEdges(csr, root, inMST, heap);
+
+            while (!heap.isEmpty() && mstEdges.size() < vertices - 1) {
+                long key = heap.poll();
+                queueOperations++;
+
+                int slot = (int) key;
+                int v = csr.targets[slot];
+
+                // Skip if the far end is already in MST (would create cycle)
+                comparisonCount++;
+                if (inMST[v]) {
+                    continue;
+                }
+
+                int edgeId = csr.edgeIds[slot];
+                int u = csr.edgeSources[edgeId] == v ? csr.edgeDestinations[edgeId] : csr.edgeSources[edgeId];
+                int weight = (int) (key >>> 32);
+
+                mstEdges.add(new Edge(u, v, weight));
+                totalCost += weight;
+                assignmentCount += 2;
+
+                inMST[v] = true;
+                assignmentCount++;
+
+                pushCompactEdges(csr, v, inMST, heap);
+            }
+            heap.clear();
         }
 
-        while (!pq.isEmpty() && mstEdges.size() < vertices - 1) {
-            Edge edge = pq.poll();
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        int totalOperations = comparisonCount + assignmentCount + queueOperations;
+
+        return new MSTResult("Prim's Algorithm", mstEdges, totalCost,
+                executionTimeMs, totalOperations, vertices);
+    }
+
+    private void pushCompactEdges(CSRGraph csr, int vertex, boolean[] inMST, LongMinHeap heap) {
+        for (int slot = csr.offsets[vertex]; slot < csr.offsets[vertex + 1]; slot++) {
+            comparisonCount++;
+            if (!inMST[csr.targets[slot]]) {
+                heap.add(((long) csr.weights[slot] << 32) | slot);
+                queueOperations++;
+            }
+        }
+    }
+
+    /**
+     * Eager Prim: every vertex outside the tree keeps its cheapest known
+     * connecting weight in an indexed queue, lowered through decrease-key.
+     */
+    private MSTResult findMSTEager(Graph graph, IndexedPriorityQueue heap, long startTime) {
+        int vertices = graph.getVerticesCount();
+        boolean[] inMST = new boolean[vertices];
+        int[] parent = new int[vertices];
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+
+        for (int root = 0; root < vertices; root++) {
+            if (inMST[root]) continue;
+
+            // The root key is never used as an edge weight; any in-range key works
+            parent[root] = -1;
+            heap.insert(root, graph.getMinWeight());
             queueOperations++;
 
-            int u = edge.getSource();
-            int v = edge.getDestination();
+            while (!heap.isEmpty()) {
+                int v = heap.poll();
+                int key = heap.getKey(v);
+                queueOperations++;
+
+                inMST[v] = true;
+                assignmentCount++;
+
+                if (parent[v] >= 0) {
+                    mstEdges.add(new Edge(parent[v], v, key));
+                    totalCost += key;
+                    assignmentCount += 2;
+                }
+
+                for (int i = 0, degree = graph.getDegree(v); i < degree; i++) {
+                    int neighbor = graph.getNeighbor(v, i);
+                    comparisonCount++;
+                    if (inMST[neighbor]) continue;
+
+                    int weight = graph.getNeighborWeight(v, i);
+                    comparisonCount++;
+                    if (!heap.contains(neighbor)) {
+                        parent[neighbor] = v;
+                        heap.insert(neighbor, weight);
+                        assignmentCount++;
+                        queueOperations++;
+                    } else if (weight < heap.getKey(neighbor)) {
+                        parent[neighbor] = v;
+                        heap.decreaseKey(neighbor, weight);
+                        assignmentCount++;
+                        queueOperations++;
+                    }
+                }
+            }
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        int totalOperations = comparisonCount + assignmentCount + queueOperations;
+
+        return new MSTResult("Prim's Algorithm", mstEdges, totalCost,
+                executionTimeMs, totalOperations, vertices);
+    }
+
+    /**
+     * Grows one fragment per seed on every worker of the pool. Workers claim
+     * vertices through a CAS on a shared owner array and each keeps its own
+     * heap of packed (weight, edge index) keys. A fragment stops growing as
+     * soon as its lightest frontier edge reaches a vertex another fragment
+     * owns; every edge it took before that was the lightest edge leaving it,
+     * so it is an MST edge. Kruskal over the edges between fragments then
+     * joins them into the final tree.
+     */
+    private MSTResult findMSTParallel(Graph graph, long startTime) {
+        CSRGraph csr = graph.toCSR();
+        int vertices = csr.vertices;
+        AtomicIntegerArray owner = new AtomicIntegerArray(vertices);
 
-            // Skip if both vertices are already in MST (would create cycle)
+        // Each worker seeds from its own block, so the fragments start spread out
+        int workerCount = pool.getParallelism();
+        List<FragmentWorker> workers = new ArrayList<>(workerCount);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workerCount);
+        for (int w = 0; w < workerCount; w++) {
+            FragmentWorker worker = new FragmentWorker(csr, owner,
+                    (int) ((long) vertices * w / workerCount), (int) ((long) vertices * (w + 1) / workerCount));
+            workers.add(worker);
+            tasks.add(pool.submit(worker));
+        }
+        for (ForkJoinTask<?> task : tasks) task.join();
+
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+        DisjointSet forest = new DisjointSet(vertices);
+        for (FragmentWorker worker : workers) {
+            for (int i = 0; i < worker.treeEdgeCount; i++) {
+                int e = worker.treeEdges[i];
+                forest.union(csr.edgeSources[e], csr.edgeDestinations[e]);
+                mstEdges.add(new Edge(csr.edgeSources[e], csr.edgeDestinations[e], csr.edgeWeights[e]));
+                totalCost += csr.edgeWeights[e];
+            }
+            comparisonCount += worker.comparisons;
+            assignmentCount += worker.assignments;
+            queueOperations += worker.queueOperations;
+        }
+
+        // Edges between fragments, packed in index order so the radix sort keeps the tie-break
+        int edgeCount = csr.getEdges();
+        long[] crossing = new long[edgeCount];
+        int crossingCount = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (owner.get(csr.edgeSources[e]) != owner.get(csr.edgeDestinations[e])) {
+                crossing[crossingCount++] = EdgeKeys.pack(csr.edgeWeights[e], e);
+            }
+        }
+        comparisonCount += edgeCount;
+        EdgeKeys.radixSort(crossing, 0, crossingCount, graph.getMaxWeight());
+
+        for (int i = 0; i < crossingCount && mstEdges.size() < vertices - 1; i++) {
+            int e = EdgeKeys.edgeIndex(crossing[i]);
             comparisonCount++;
-            if (inMST[u] && inMST[v]) {
-                continue;
+            if (forest.union(csr.edgeSources[e], csr.edgeDestinations[e])) {
+                mstEdges.add(new Edge(csr.edgeSources[e], csr.edgeDestinations[e], csr.edgeWeights[e]));
+                totalCost += csr.edgeWeights[e];
+                assignmentCount += 2;
             }
+        }
 
-            // Add edge to MST
-            mstEdges.add(edge);
-            totalCost += edge.getWeight();
-            assignmentCount += 2;
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        int totalOperations = comparisonCount + assignmentCount + queueOperations;
 
-            // Find the vertex not yet in MST
-            int newVertex = inMST[u] ? v : u;
+        return new MSTResult("Prim's Algorithm", mstEdges, totalCost,
+                executionTimeMs, totalOperations, vertices);
+    }
 
-            // Mark new vertex as visited
-            inMST[newVertex] = true;
-            assignmentCount++;
+    /**
+     * Claims every still unowned vertex of its block as a seed and grows a
+     * fragment from it. Owner entries hold the seed + 1, 0 meaning unowned,
+     * and only ever change from 0, so a fragment's vertices stay its own.
+     */
+    private static final class FragmentWorker implements Runnable {
+        private final CSRGraph csr;
+        private final AtomicIntegerArray owner;
+        private final int from;
+        private final int to;
+        private final LongMinHeap heap = new LongMinHeap(16);
+        int[] treeEdges = new int[16];
+        int treeEdgeCount;
+        int comparisons;
+        int assignments;
+        int queueOperations;
 
-            // Add all edges from the new vertex that connect to unvisited vertices
-            for (Edge adjEdge : graph.getAdjacentEdges(newVertex)) {
-                int neighbor = adjEdge.getDestination();
-                comparisonCount++;
-                if (!inMST[neighbor]) {
-                    pq.offer(adjEdge);
+        FragmentWorker(CSRGraph csr, AtomicIntegerArray owner, int from, int to) {
+            this.csr = csr;
+            this.owner = owner;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            for (int seed = from; seed < to; seed++) {
+                comparisons++;
+                if (owner.get(seed) == 0 && owner.compareAndSet(seed, 0, seed + 1)) {
+                    grow(seed);
+                }
+            }
+        }
+
+        private void grow(int seed) {
+            int fragment = seed + 1;
+            heap.clear();
+            pushEdges(seed, fragment);
+
+            while (!heap.isEmpty()) {
+                long key = heap.poll();
+                queueOperations++;
+
+                int e = EdgeKeys.edgeIndex(key);
+                int source = csr.edgeSources[e];
+                int v = owner.get(source) == fragment ? csr.edgeDestinations[e] : source;
+
+                int current = owner.get(v);
+                comparisons += 2;
+                if (current == fragment) continue;
+                // Collided with another fragment: this edge is left for the Kruskal join
+                if (current != 0 || !owner.compareAndSet(v, 0, fragment)) break;
+
+                if (treeEdgeCount == treeEdges.length) {
+                    treeEdges = Arrays.copyOf(treeEdges, 2 * treeEdgeCount);
+                }
+                treeEdges[treeEdgeCount++] = e;
+                assignments += 2;
+                pushEdges(v, fragment);
+            }
+        }
+
+        private void pushEdges(int vertex, int fragment) {
+            for (int slot = csr.offsets[vertex], end = csr.offsets[vertex + 1]; slot < end; slot++) {
+                comparisons++;
+                if (owner.get(csr.targets[slot]) != fragment) {
+                    heap.add(EdgeKeys.pack(csr.weights[slot], csr.edgeIds[slot]));
                     queueOperations++;
                 }
             }
         }
+    }
+
+    /**
+     * Classic array-based Prim on a V x V weight matrix. Each step is a
+     * min-reduction over the key array followed by a branch-light row
+     * relaxation, both plain loops over int[] that the JIT can vectorize.
+     */
+    private MSTResult findMSTDense(Graph graph, long startTime) {
+        int vertices = graph.getVerticesCount();
+        int[] matrix = buildWeightMatrix(graph);
+        if (matrix == null) {
+            return findMSTEager(graph, new IndexedDaryHeap(vertices, HEAP_ARITY), startTime);
+        }
+
+        // In-tree vertices get key NO_EDGE and blocked NO_EDGE, so they are never
+        // picked by the scan and never relaxed again.
+        int[] key = new int[vertices];
+        int[] blocked = new int[vertices];
+        int[] parent = new int[vertices];
+        Arrays.fill(key, NO_EDGE);
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+
+        // Every pass adds u to the forest, so the loop ends after V passes
+        int u = 0;
+        int nextRoot = 0;
+        while (vertices > 0) {
+            blocked[u] = NO_EDGE;
+            key[u] = NO_EDGE;
+            int rowStart = u * vertices;
+
+            // Relax row u and reduce the minimum key in the same branch-free pass
+            int min = NO_EDGE;
+            for (int v = 0; v < vertices; v++) {
+                int weight = matrix[rowStart + v] | blocked[v];
+                int current = key[v];
+                boolean closer = weight < current;
+                key[v] = closer ? weight : current;
+                parent[v] = closer ? u : parent[v];
+                min = Math.min(min, key[v]);
+            }
+            comparisonCount += 2 * vertices;
+            assignmentCount += 2;
+
+            if (min == NO_EDGE) {
+                // Component finished: restart from the lowest vertex not yet in the forest
+                while (nextRoot < vertices && blocked[nextRoot] == NO_EDGE) nextRoot++;
+                if (nextRoot == vertices) break;
+                u = nextRoot;
+                continue;
+            }
+
+            int next = 0;
+            while (key[next] != min) next++;
+
+            mstEdges.add(new Edge(parent[next], next, min));
+            totalCost += min;
+            assignmentCount += 2;
+            u = next;
+        }
 
         long endTime = System.nanoTime();
         double executionTimeMs = (endTime - startTime) / 1_000_000.0;
@@ -74,6 +527,43 @@ public class PrimMST {
                 executionTimeMs, totalOperations, vertices);
     }
 
+    /**
+     * Row-major weight matrix keeping the lightest of parallel edges, or null
+     * if the graph cannot be represented (too large, or a weight collides
+     * with the NO_EDGE sentinel).
+     */
+    private int[] buildWeightMatrix(Graph graph) {
+        int vertices = graph.getVerticesCount();
+        if (vertices > MAX_MATRIX_VERTICES) return null;
+
+        int[] matrix = new int[vertices * vertices];
+        Arrays.fill(matrix, NO_EDGE);
+
+        // Filled row by row from the adjacency so writes stay within one row
+        CSRGraph csr = graph.getCSR();
+        for (int u = 0; u < vertices; u++) {
+            int rowStart = u * vertices;
+            if (csr != null) {
+                for (int slot = csr.offsets[u], end = csr.offsets[u + 1]; slot < end; slot++) {
+                    int v = csr.targets[slot];
+                    int weight = csr.weights[slot];
+                    if (weight == NO_EDGE) return null;
+                    if (weight < matrix[rowStart + v]) matrix[rowStart + v] = weight;
+                }
+            } else {
+                for (int i = 0, degree = graph.getDegree(u); i < degree; i++) {
+                    int v = graph.getNeighbor(u, i);
+                    int weight = graph.getNeighborWeight(u, i);
+                    if (weight == NO_EDGE) return null;
+                    if (weight < matrix[rowStart + v]) matrix[rowStart + v] = weight;
+                }
+            }
+            matrix[rowStart + u] = NO_EDGE; // self-loops never join the tree
+        }
+        assignmentCount += 2 * graph.getEdgesCount();
+        return matrix;
+    }
+
     private void resetCounters() {
         comparisonCount = 0;
         assignmentCount = 0;
@@ -0,0 +1,185 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Semi-streaming minimum spanning forest: edges arrive one at a time and
+ * only the current forest is kept, so memory is O(V) however long the
+ * stream is. The forest lives in a {@link LinkCutTree} with a node per
+ * vertex and one per tree edge. An edge that closes a cycle evicts the
+ * heaviest edge on that cycle if it is lighter (cycle property), or is
+ * dropped otherwise. Each edge costs amortized O(log V).
+ *
+ * An evicted edge's node is reused for the incoming one, so the tree never
+ * holds more than V - 1 edge nodes. Node values pack the weight with the
+ * edge's stream position, like {@link EdgeKeys} does with edge indices, so
+ * ties go to the older edge and the forest matches Kruskal's with ties
+ * broken by stream order (positions wrap after 2^32 edges).
+ *
+ * Most edges of a long stream are rejected, so two O(1) checks run before
+ * the tree is touched. Evictions never split a tree, which lets a plain
+ * {@link DisjointSet} answer connectivity. An edge heavier than every
+ * forest edge is the heaviest on its cycle. The forest maximum is kept as
+ * an upper bound that is rescanned at most once per V edges after the
+ * maximum itself was evicted.
+ */
+public class StreamingMST {
+    private final int vertices;
+    private final LinkCutTree forest;
+
+    // Edge slot s is tree node vertices + s
+    private final int[] sources;
+    private final int[] destinations;
+    private final int[] weights;
+    private final boolean[] used;
+    private final int[] freeSlots;
+    private int freeCount;
+
+    private final DisjointSet components;
+    private long maxKey = Long.MIN_VALUE;  // upper bound on the keys in the forest
+    private boolean maxKeyStale;
+    private long edgesSinceRescan;
+
+    private long totalCost;
+    private int treeEdgeCount;
+    private long edgesSeen;
+    private long evictions;
+    private int operationCount;
+    private final long startTime;
+
+    public StreamingMST(int vertices) {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Vertex count must be non-negative");
+        }
+        this.startTime = System.nanoTime();
+        this.vertices = vertices;
+        int slots = Math.max(0, vertices - 1);
+        this.forest = new LinkCutTree(vertices + slots);
+        for (int v = 0; v < vertices + slots; v++) {
+            forest.addNode(Long.MIN_VALUE);
+        }
+        this.sources = new int[slots];
+        this.destinations = new int[slots];
+        this.weights = new int[slots];
+        this.used = new boolean[slots];
+        this.freeSlots = new int[slots];
+        for (int s = 0; s < slots; s++) freeSlots[s] = slots - 1 - s;
+        this.freeCount = slots;
+        this.components = new DisjointSet(vertices);
+    }
+
+    /**
+     * Reads every edge from the stream and returns the forest. The stream
+     * is left open.
+     */
+    public static MSTResult findMST(int vertices, InputStream in) throws IOException {
+        StreamingMST mst = new StreamingMST(vertices);
+        EdgeStreamReader reader = new EdgeStreamReader(in);
+        while (reader.next()) {
+            mst.addEdge(reader.getSource(), reader.getDestination(), reader.getWeight());
+        }
+        return mst.toMSTResult();
+    }
+
+    public static MSTResult findMST(int vertices, Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return findMST(vertices, in);
+        }
+    }
+
+    /**
+     * Offers one edge to the forest. Returns false if it was dropped.
+     */
+    public boolean addEdge(int u, int v, int weight) {
+        if (u < 0 || u >= vertices || v < 0 || v >= vertices) {
+            throw new IllegalArgumentException("Invalid vertex index");
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weights are not supported");
+        }
+        edgesSeen++;
+        if (u == v) return false;
+
+        long key = ((long) weight << 32) | ((edgesSeen - 1) & 0xFFFF_FFFFL);
+        if (components.union(u, v)) {
+            link(u, v, weight, key);
+            return true;
+        }
+        if (maxKeyStale && ++edgesSinceRescan >= vertices) rescanMaxKey();
+        if (key > maxKey) return false;
+
+        int heaviest = forest.pathMaxNode(u, v);
+        operationCount++;
+        if (forest.getValue(heaviest) < key) return false;
+        evict(heaviest - vertices);
+        link(u, v, weight, key);
+        return true;
+    }
+
+    public int getVertices() { return vertices; }
+    public long getTotalCost() { return totalCost; }
+    public int getTreeEdgeCount() { return treeEdgeCount; }
+    public long getEdgesSeen() { return edgesSeen; }
+    public long getEvictions() { return evictions; }
+
+    public List<Edge> getTreeEdges() {
+        List<Edge> treeEdges = new ArrayList<>(treeEdgeCount);
+        for (int s = 0; s < used.length; s++) {
+            if (used[s]) treeEdges.add(new Edge(sources[s], destinations[s], weights[s]));
+        }
+        return treeEdges;
+    }
+
+    /**
+     * Snapshot of the current forest. Time runs from construction;
+     * operations count path queries, links and cuts. Throws
+     * ArithmeticException when the cost does not fit MSTResult's int;
+     * {@link #getTotalCost} keeps the exact sum.
+     */
+    public MSTResult toMSTResult() {
+        double executionTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new MSTResult("Streaming MST", getTreeEdges(), Math.toIntExact(totalCost),
+                executionTimeMs, operationCount, vertices);
+    }
+
+    private void link(int u, int v, int weight, long key) {
+        int slot = freeSlots[--freeCount];
+        int node = vertices + slot;
+        sources[slot] = u;
+        destinations[slot] = v;
+        weights[slot] = weight;
+        used[slot] = true;
+        forest.setValue(node, key);
+        maxKey = Math.max(maxKey, key);
+        forest.link(u, node);
+        forest.link(node, v);
+        totalCost += weight;
+        treeEdgeCount++;
+        operationCount += 2;
+    }
+
+    private void evict(int slot) {
+        int node = vertices + slot;
+        if (forest.getValue(node) == maxKey) {
+            maxKeyStale = true;
+            edgesSinceRescan = 0;
+        }
+        forest.cut(sources[slot], node);
+        forest.cut(node, destinations[slot]);
+        forest.setValue(node, Long.MIN_VALUE);
+        used[slot] = false;
+        freeSlots[freeCount++] = slot;
+        totalCost -= weights[slot];
+        treeEdgeCount--;
+        evictions++;
+        operationCount += 2;
+    }
+
+    private void rescanMaxKey() {
+        maxKey = Long.MIN_VALUE;
+        for (int s = 0; s < used.length; s++) {
+            if (used[s]) maxKey = Math.max(maxKey, forest.getValue(vertices + s));
+        }
+        maxKeyStale = false;
+    }
+}
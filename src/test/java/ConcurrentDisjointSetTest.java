@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentDisjointSetTest {
+    private static final int THREADS = 8;
+
+    @Test
+    void testSingleThreadedSemantics() {
+        ConcurrentDisjointSet set = new ConcurrentDisjointSet(5, 1L);
+        assertTrue(set.union(0, 1));
+        assertTrue(set.union(3, 4));
+        assertFalse(set.union(1, 0));
+        assertTrue(set.connected(0, 1));
+        assertFalse(set.connected(1, 3));
+        assertEquals(3, set.getComponentCount());
+        assertEquals(set.find(3), set.find(4));
+
+        ConcurrentDisjointSet chain = new ConcurrentDisjointSet(200_000, 2L);
+        for (int i = 1; i < 200_000; i++) chain.union(i - 1, i);
+        assertEquals(1, chain.getComponentCount());
+        assertTrue(chain.connected(0, 199_999));
+    }
+
+    @Test
+    void testConcurrentUnionsMatchSequential() throws Exception {
+        int n = 50_000;
+        int pairsPerThread = 20_000;
+        int[][] pairs = new int[THREADS][2 * pairsPerThread];
+        Random random = new Random(7);
+        DisjointSet expected = new DisjointSet(n);
+        for (int[] threadPairs : pairs) {
+            for (int i = 0; i < threadPairs.length; i += 2) {
+                threadPairs[i] = random.nextInt(n);
+                threadPairs[i + 1] = random.nextInt(n);
+                expected.union(threadPairs[i], threadPairs[i + 1]);
+            }
+        }
+
+        for (int trial = 0; trial < 5; trial++) {
+            ConcurrentDisjointSet set = new ConcurrentDisjointSet(n, trial);
+            AtomicInteger successfulUnions = new AtomicInteger();
+            runConcurrently(thread -> {
+                int[] threadPairs = pairs[thread];
+                for (int i = 0; i < threadPairs.length; i += 2) {
+                    if (set.union(threadPairs[i], threadPairs[i + 1])) {
+                        successfulUnions.incrementAndGet();
+                    }
+                }
+            });
+
+            // Every merge is won by exactly one thread
+            assertEquals(n - expected.getComponentCount(), successfulUnions.get());
+            assertEquals(expected.getComponentCount(), set.getComponentCount());
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected.connected(v, 0), set.connected(v, 0));
+            }
+        }
+    }
+
+    @Test
+    void testConnectedDuringUnions() throws Exception {
+        int n = 20_000;
+        ConcurrentDisjointSet set = new ConcurrentDisjointSet(n, 3L);
+        // Even elements merge into one set, odd elements into another
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            for (int i = 0; i < 40_000; i++) {
+                int a = 2 * random.nextInt(n / 2);
+                int b = 2 * random.nextInt(n / 2);
+                if (thread % 2 == 0) {
+                    set.union(a, b);
+                    set.union(a + 1, b + 1);
+                } else {
+                    assertFalse(set.connected(a, b + 1));
+                }
+            }
+        });
+        for (int v = 2; v < n; v++) set.union(v - 2, v);
+        assertEquals(2, set.getComponentCount());
+        assertFalse(set.connected(0, 1));
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
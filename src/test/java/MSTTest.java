@@ -1,6 +1,24 @@
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 public class MSTTest {
 
     @Test
@@ -46,8 +64,8 @@ public class MSTTest {
         assertEquals(graph.getVerticesCount() - 1, kruskalResult.getMstEdgesCount());
 
         // Results should be valid
-        assertTrue(primResult.isValidMST());
-        assertTrue(kruskalResult.isValidMST());
+        assertTrue(primResult.isValidMST(graph));
+        assertTrue(kruskalResult.isValidMST(graph));
     }
 
     @Test
@@ -56,12 +74,38 @@ public class MSTTest {
         PrimMST prim = new PrimMST();
         MSTResult result = prim.findMST(graph);
 
-        assertTrue(result.hasCorrectEdgeCount());
+        assertTrue(result.hasCorrectEdgeCount(graph));
         assertTrue(result.getTotalCost() > 0);
         assertTrue(result.getExecutionTime() >= 0);
         assertTrue(result.getOperationsCount() > 0);
     }
 
+    @Test
+    void testTruncatedForestFailsEdgeCount() {
+        Graph graph = createTestGraph();
+        MSTResult mst = new KruskalMST().findMST(graph);
+        assertTrue(mst.isValidMST(graph));
+
+        // Early stop: one tree edge missing, still acyclic
+        List<Edge> truncated = mst.getMstEdges();
+        Edge dropped = truncated.remove(truncated.size() - 1);
+        MSTResult early = new MSTResult("truncated", truncated,
+                mst.getTotalCost() - dropped.getWeight(), 0, 0, 6);
+        assertFalse(early.hasCorrectEdgeCount(graph));
+        assertFalse(early.isValidMST(graph));
+
+        MSTResult empty = new MSTResult("empty", Collections.emptyList(), 0, 0, 0, 6);
+        assertFalse(empty.isValidMST(graph));
+
+        // A forest is valid when the graph has the same components
+        Graph split = new Graph(4);
+        split.addEdge(0, 1, 2);
+        split.addEdge(2, 3, 5);
+        assertTrue(new KruskalMST().findMST(split).isValidMST(split));
+        assertFalse(new MSTResult("one tree", Collections.singletonList(new Edge(0, 1, 2)), 2, 0, 0, 4)
+                .isValidMST(split));
+    }
+
     @Test
     void testGraphEdgeOperations() {
         Graph graph = new Graph(3);
@@ -88,6 +132,923 @@ public class MSTTest {
         assertNotEquals(edge1, edge4);
     }
 
+    @Test
+    void testCompactGraph() {
+        Graph graph = createTestGraph();
+        MSTResult listPrim = new PrimMST().findMST(graph);
+        MSTResult listKruskal = new KruskalMST().findMST(graph);
+
+        graph.compact();
+
+        assertTrue(graph.isCompact());
+        assertTrue(graph.isConnected());
+        assertEquals(9, graph.getEdgesCount());
+        assertEquals(4, graph.getAdjacentEdges(2).size());
+        assertEquals(new Edge(2, 1, 1), graph.getAdjacentEdges(2).get(1));
+
+        MSTResult compactPrim = new PrimMST().findMST(graph);
+        MSTResult compactKruskal = new KruskalMST().findMST(graph);
+
+        assertEquals(listPrim.getTotalCost(), compactPrim.getTotalCost());
+        assertEquals(listKruskal.getTotalCost(), compactKruskal.getTotalCost());
+        assertTrue(compactPrim.isValidMST(graph));
+        assertTrue(compactKruskal.isValidMST(graph));
+
+        assertThrows(IllegalStateException.class, () -> graph.addEdge(0, 5, 1));
+    }
+
+    @Test
+    void testIndexedAdjacencyAccess() {
+        Graph graph = createTestGraph();
+        Graph compact = createTestGraph();
+        compact.compact();
+
+        for (Graph g : new Graph[]{graph, compact}) {
+            assertEquals(4, g.getDegree(2));
+            assertEquals(0, g.getNeighbor(2, 0));
+            assertEquals(2, g.getNeighborWeight(2, 0));
+            assertEquals(new Edge(2, 1, 1), g.getAdjacentEdge(2, 1));
+            assertEquals(3, g.getEdgeSource(6));
+            assertEquals(4, g.getEdgeDestination(6));
+            assertEquals(2, g.getEdgeWeight(6));
+
+            int[] weightSum = new int[1];
+            g.forEachNeighbor(3, (neighbor, weight) -> weightSum[0] += weight);
+            assertEquals(5 + 8 + 2 + 6, weightSum[0]);
+        }
+    }
+
+    @Test
+    void testIndexedDaryHeap() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(6, 3);
+        heap.insert(0, 9);
+        heap.insert(1, 4);
+        heap.insert(2, 7);
+        heap.insert(3, 5);
+        heap.decreaseKey(2, 1);
+
+        assertEquals(4, heap.size());
+        assertEquals(2, heap.poll());
+        assertEquals(1, heap.poll());
+        assertFalse(heap.contains(1));
+        assertTrue(heap.contains(0));
+        assertEquals(3, heap.poll());
+        assertEquals(0, heap.poll());
+        assertTrue(heap.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 1));  // already polled
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(5, 1));  // never inserted
+    }
+
+    @Test
+    void testPrimIndexedHeapVariant() {
+        Graph graph = createTestGraph();
+        PrimMST eager = new PrimMST(PrimMST.Variant.INDEXED_HEAP);
+
+        MSTResult result = eager.findMST(graph);
+        assertEquals(new PrimMST().findMST(graph).getTotalCost(), result.getTotalCost());
+        assertTrue(result.isValidMST(graph));
+
+        graph.compact();
+        assertEquals(result.getTotalCost(), eager.findMST(graph).getTotalCost());
+    }
+
+    @Test
+    void testDensePrimAutoSelection() {
+        Graph complete = new Graph(8);
+        for (int i = 0; i < 8; i++) {
+            for (int j = i + 1; j < 8; j++) {
+                complete.addEdge(i, j, (i * 7 + j * 3) % 11 + 1);
+            }
+        }
+        complete.addEdge(2, 5, 1); // parallel edge, lighter than the original
+        complete.addEdge(4, 4, 0); // self-loop is ignored
+
+        assertTrue(complete.getDensity() > PrimMST.DEFAULT_DENSE_THRESHOLD);
+
+        // V(V-1) overflows int from 46,342 vertices on
+        Graph wide = new Graph(50_000);
+        wide.addEdge(0, 1, 1);
+        assertEquals(1 / (50_000 * 49_999.0 / 2), wide.getDensity(), 1e-15);
+        assertEquals(PrimMST.Variant.DENSE, new PrimMST().selectVariant(complete));
+        assertEquals(PrimMST.Variant.INDEXED_HEAP, new PrimMST(1.5).selectVariant(complete));
+        Graph path = new Graph(6);
+        for (int i = 0; i < 5; i++) path.addEdge(i, i + 1, i + 1);
+        assertEquals(PrimMST.Variant.INDEXED_HEAP, new PrimMST().selectVariant(path));
+        assertThrows(IllegalArgumentException.class, () -> new PrimMST(-0.1));
+
+        MSTResult dense = new PrimMST(PrimMST.Variant.DENSE).findMST(complete);
+        MSTResult kruskal = new KruskalMST().findMST(complete);
+        assertEquals(kruskal.getTotalCost(), dense.getTotalCost());
+        assertTrue(dense.isValidMST(complete));
+
+        complete.compact();
+        assertEquals(kruskal.getTotalCost(), new PrimMST().findMST(complete).getTotalCost());
+    }
+
+    @Test
+    void testBucketQueuePrim() {
+        IndexedBucketQueue queue = new IndexedBucketQueue(5, 3, 9);
+        queue.insert(0, 9);
+        queue.insert(1, 5);
+        queue.insert(2, 7);
+        assertEquals(1, queue.poll());
+        queue.insert(3, 3); // below the last polled key
+        queue.decreaseKey(0, 4);
+        assertEquals(3, queue.poll());
+        assertEquals(0, queue.poll());
+        assertEquals(2, queue.poll());
+        assertTrue(queue.isEmpty());
+
+        // Polled and never inserted vertices are rejected before any bucket is touched
+        queue.insert(4, 8);
+        assertThrows(IllegalArgumentException.class, () -> queue.decreaseKey(1, 3));
+        assertThrows(IllegalArgumentException.class, () -> queue.decreaseKey(2, 3));
+        assertEquals(1, queue.size());
+        assertEquals(4, queue.poll());
+        assertTrue(queue.isEmpty());
+
+        Graph graph = createTestGraph();
+        assertEquals(1, graph.getMinWeight());
+        assertEquals(10, graph.getMaxWeight());
+
+        MSTResult bucket = new PrimMST(PrimMST.Variant.BUCKET).findMST(graph);
+        assertEquals(new KruskalMST().findMST(graph).getTotalCost(), bucket.getTotalCost());
+        assertTrue(bucket.isValidMST(graph));
+
+        Graph ring = new Graph(40);
+        for (int i = 0; i < 40; i++) ring.addEdge(i, (i + 1) % 40, 1 + i % 5);
+        assertEquals(PrimMST.Variant.BUCKET, new PrimMST().selectVariant(ring));
+        ring.addEdge(0, 20, 100_000);
+        assertEquals(PrimMST.Variant.INDEXED_HEAP, new PrimMST().selectVariant(ring));
+        assertEquals(new KruskalMST().findMST(ring).getTotalCost(),
+                new PrimMST(PrimMST.Variant.BUCKET).findMST(ring).getTotalCost());
+    }
+
+    @Test
+    void testEdgeKeyRadixSort() {
+        Random random = new Random(7);
+        long[] keys = new long[5000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = EdgeKeys.pack(random.nextInt(70_000), i);
+        }
+        long[] expected = keys.clone();
+        Arrays.sort(expected);
+
+        EdgeKeys.radixSort(keys, 70_000);
+        assertArrayEquals(expected, keys);
+        assertEquals(3, EdgeKeys.radixPasses(70_000));
+
+        Graph graph = Graph.randomConnected(1000, 4000, 300, random);
+        assertTrue(graph.getEdgesCount() >= KruskalMST.RADIX_SORT_THRESHOLD);
+        assertEquals(new PrimMST().findMST(graph).getTotalCost(),
+                new KruskalMST().findMST(graph).getTotalCost());
+    }
+
+    @Test
+    void testFilterKruskal() {
+        KruskalMST filter = new KruskalMST(KruskalMST.Variant.FILTER);
+        assertEquals(new KruskalMST().findMST(createTestGraph()).getMstEdges(),
+                filter.findMST(createTestGraph()).getMstEdges());
+
+        Graph graph = Graph.randomConnected(2000, 60_000, 50, new Random(3));
+        assertTrue(graph.getEdgesCount() > 4 * KruskalMST.FILTER_BASE_SIZE);
+        MSTResult expected = new KruskalMST().findMST(graph);
+        MSTResult result = filter.findMST(graph);
+        assertEquals(expected.getTotalCost(), result.getTotalCost());
+        assertEquals(expected.getMstEdges(), result.getMstEdges());
+    }
+
+    @Test
+    void testLazyHeapKruskal() {
+        long[] keys = {9, 4, 7, 1, 8, 2};
+        LongMinHeap heap = new LongMinHeap(keys);
+        assertEquals(1, heap.poll());
+        assertEquals(2, heap.poll());
+        heap.add(3);
+        assertEquals(3, heap.poll());
+        assertEquals(4, heap.poll());
+        assertEquals(3, heap.size());
+
+        Graph graph = Graph.randomConnected(500, 5000, 100, new Random(5));
+        MSTResult expected = new KruskalMST().findMST(graph);
+        MSTResult lazy = new KruskalMST(KruskalMST.Variant.LAZY_HEAP).findMST(graph);
+        assertEquals(expected.getTotalCost(), lazy.getTotalCost());
+        assertEquals(expected.getMstEdges(), lazy.getMstEdges());
+    }
+
+    @Test
+    void testDisjointSet() {
+        DisjointSet set = new DisjointSet(5);
+        assertTrue(set.union(0, 1));
+        assertTrue(set.union(3, 4));
+        assertFalse(set.union(1, 0));
+        assertTrue(set.connected(0, 1));
+        assertFalse(set.connected(1, 3));
+        assertEquals(3, set.getComponentCount());
+        assertEquals(2, set.getSetSize(4));
+        assertEquals(0, set.getOperationCount());
+
+        // Long chain: iterative find must not overflow the stack
+        DisjointSet chain = new DisjointSet(200_000, true);
+        for (int i = 1; i < 200_000; i++) chain.union(i - 1, i);
+        assertEquals(1, chain.getComponentCount());
+        assertEquals(chain.find(0), chain.find(199_999));
+        assertTrue(chain.getOperationCount() > 0);
+
+        chain.reset(3);
+        assertEquals(3, chain.getComponentCount());
+        assertEquals(0, chain.getOperationCount());
+        assertFalse(chain.connected(0, 2));
+
+        Graph longPath = new Graph(100_000);
+        for (int i = 1; i < 100_000; i++) longPath.addEdge(i - 1, i, 1);
+        assertTrue(longPath.isConnected());
+    }
+
+    @Test
+    void testBoruvkaMatchesKruskal() {
+        BoruvkaMST boruvka = new BoruvkaMST();
+        Graph testGraph = createTestGraph();
+        MSTResult small = boruvka.findMST(testGraph);
+        assertEquals(new KruskalMST().findMST(testGraph).getTotalCost(), small.getTotalCost());
+        assertTrue(small.isValidMST(testGraph));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Graph graph = Graph.randomConnected(2000, 20000, 50, new Random(11));
+            graph.compact();
+            MSTResult expected = new KruskalMST().findMST(graph);
+            BoruvkaMST parallel = new BoruvkaMST(pool);
+            MSTResult result = parallel.findMST(graph);
+            assertEquals(expected.getTotalCost(), result.getTotalCost());
+            assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(result.getMstEdges()));
+            assertTrue(parallel.getRounds() <= 11); // components at least halve each round
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testForestPathMax() {
+        // Path 0-1-2-3 with keys 5, 9, 2, and a separate edge 4-5
+        int[] sources = {0, 1, 2, 4};
+        int[] destinations = {1, 2, 3, 5};
+        long[] keys = {5, 9, 2, 7};
+        ForestPathMax pathMax = new ForestPathMax(7, sources, destinations, keys, keys.length);
+        assertEquals(9, pathMax.pathMax(0, 3));
+        assertEquals(2, pathMax.pathMax(3, 2));
+        assertEquals(5, pathMax.pathMax(1, 0));
+        assertEquals(7, pathMax.pathMax(5, 4));
+        assertEquals(Long.MIN_VALUE, pathMax.pathMax(2, 2));
+        assertEquals(ForestPathMax.NO_PATH, pathMax.pathMax(0, 4));
+        assertFalse(pathMax.connected(6, 0));
+    }
+
+    @Test
+    void testKKTMatchesKruskal() {
+        Random random = new Random(21);
+        for (int maxWeight : new int[]{3, 300, 1_000_000}) {
+            Graph graph = Graph.randomConnected(3000, 30_000, maxWeight, random);
+            MSTResult expected = new KruskalMST().findMST(graph);
+            MSTResult result = new KKTMST(maxWeight).findMST(graph);
+            assertEquals(expected.getTotalCost(), result.getTotalCost());
+            assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(result.getMstEdges()));
+        }
+
+        // Two islands: the result is the spanning forest
+        Graph islands = new Graph(5);
+        islands.addEdge(0, 1, 4);
+        islands.addEdge(1, 2, 1);
+        islands.addEdge(0, 2, 2);
+        islands.addEdge(3, 4, 7);
+        MSTResult forest = new KKTMST(1L).findMST(islands);
+        assertEquals(10, forest.getTotalCost());
+        assertEquals(3, forest.getMstEdges().size());
+    }
+
+    @Test
+    void testMinimumSpanningForest() {
+        // Islands {0,1,2}, {3,4} and the isolated vertex 5
+        Graph graph = new Graph(6);
+        graph.addEdge(0, 1, 4);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(0, 2, 2);
+        graph.addEdge(3, 4, 7);
+        graph.addEdge(4, 3, 9);
+
+        List<Function<Graph, MSTResult>> engines = new ArrayList<>();
+        for (PrimMST.Variant variant : PrimMST.Variant.values()) {
+            engines.add(new PrimMST(variant)::findMST);
+        }
+        for (KruskalMST.Variant variant : KruskalMST.Variant.values()) {
+            engines.add(new KruskalMST(variant)::findMST);
+        }
+        engines.add(new BoruvkaMST()::findMST);
+        engines.add(new KKTMST(1L)::findMST);
+
+        for (boolean compact : new boolean[]{false, true}) {
+            if (compact) graph.compact();
+            for (Function<Graph, MSTResult> engine : engines) {
+                MSTResult forest = engine.apply(graph);
+                assertEquals(10, forest.getTotalCost(), forest.getAlgorithmName());
+                assertEquals(3, forest.getComponentCount(), forest.getAlgorithmName());
+                assertArrayEquals(new int[]{3, 7, 0}, forest.getComponentCosts());
+                assertArrayEquals(new int[]{2, 1, 0}, forest.getComponentEdgeCounts());
+                assertTrue(forest.isValidMST(graph));
+                assertFalse(forest.isSpanningTree());
+            }
+        }
+
+        // Larger forest through the parallel fragment path
+        Random random = new Random(3);
+        Graph islands = new Graph(4000);
+        for (int i = 0; i < 16_000; i++) {
+            int u = random.nextInt(4000);
+            int v = (u / 1000) * 1000 + random.nextInt(1000);
+            islands.addEdge(u, v, 1 + random.nextInt(50));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MSTResult expected = new KruskalMST().findMST(islands);
+            MSTResult parallel = new PrimMST(PrimMST.Variant.PARALLEL, pool).findMST(islands);
+            MSTResult heap = new PrimMST(PrimMST.Variant.INDEXED_HEAP).findMST(islands);
+            assertTrue(expected.getComponentCount() >= 4);
+            assertEquals(expected.getTotalCost(), parallel.getTotalCost());
+            assertEquals(expected.getTotalCost(), heap.getTotalCost());
+            assertArrayEquals(expected.getComponentCosts(), heap.getComponentCosts());
+            assertArrayEquals(expected.getComponentEdgeCounts(), parallel.getComponentEdgeCounts());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testComponentLabels() {
+        Graph graph = new Graph(130);
+        graph.addEdge(0, 129, 1);
+        graph.addEdge(64, 63, 2);
+        graph.addEdge(63, 2, 3);
+        assertEquals(127, graph.getComponentCount());
+        assertFalse(graph.isConnected());
+        assertEquals(graph.getComponent(0), graph.getComponent(129));
+        assertEquals(graph.getComponent(2), graph.getComponent(64));
+        assertEquals(0, graph.getComponent(0));
+        assertEquals(1, graph.getComponent(1));
+        assertEquals(2, graph.getComponentLabels()[63]);
+
+        // addEdge drops the cached labels
+        for (int v = 1; v < 130; v++) graph.addEdge(v - 1, v, 1);
+        assertTrue(graph.isConnected());
+        assertEquals(1, graph.getComponentCount());
+
+        // Long rail corridor, before and after compaction
+        Graph corridor = new Graph(300_000);
+        for (int v = 1; v < 300_000; v++) corridor.addEdge(v - 1, v, 1);
+        assertTrue(corridor.isConnected());
+        corridor.compact();
+        assertTrue(corridor.isConnected());
+        assertEquals(0, corridor.getComponent(299_999));
+    }
+
+    @Test
+    void testDynamicMSTUpdates() {
+        Random random = new Random(17);
+        int vertices = 300;
+        Graph seed = Graph.randomConnected(vertices, 900, 1000, random);
+        DynamicMST dynamic = new DynamicMST(seed, new KruskalMST().findMST(seed));
+
+        // Shadow copy of every edge, rebuilt into a Graph to check against Kruskal
+        List<int[]> edges = new ArrayList<>();
+        for (int e = 0; e < seed.getEdgesCount(); e++) {
+            edges.add(new int[]{seed.getEdgeSource(e), seed.getEdgeDestination(e), seed.getEdgeWeight(e)});
+        }
+
+        for (int step = 1; step <= 3000; step++) {
+            if (random.nextBoolean()) {
+                int[] edge = {random.nextInt(vertices), random.nextInt(vertices), 1 + random.nextInt(1000)};
+                assertEquals(edges.size(), dynamic.insertEdge(edge[0], edge[1], edge[2]));
+                edges.add(edge);
+            } else {
+                int id = random.nextInt(edges.size());
+                int[] edge = edges.get(id);
+                edge[2] = Math.max(1, edge[2] - random.nextInt(200));
+                dynamic.decreaseWeight(id, edge[2]);
+            }
+
+            if (step % 250 == 0) {
+                Graph rebuilt = new Graph(vertices);
+                for (int[] edge : edges) rebuilt.addEdge(edge[0], edge[1], edge[2]);
+                MSTResult expected = new KruskalMST().findMST(rebuilt);
+                assertEquals(expected.getTotalCost(), dynamic.getTotalCost());
+                assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(dynamic.getTreeEdges()));
+                assertTrue(dynamic.toMSTResult().isValidMST(rebuilt));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> dynamic.decreaseWeight(0, Integer.MAX_VALUE));
+        long costBefore = dynamic.getTotalCost();
+        int edgesBefore = dynamic.getEdgeCount();
+        assertThrows(IllegalArgumentException.class, () -> dynamic.decreaseWeight(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> dynamic.insertEdge(0, 1, -5));
+        assertThrows(IllegalArgumentException.class, () -> dynamic.insertEdge(0, -1, 5));
+        assertEquals(costBefore, dynamic.getTotalCost());
+        assertEquals(edgesBefore, dynamic.getEdgeCount());
+
+        // Seeded from the tree alone: an insertion joins two islands, then replaces a heavy edge
+        Graph islands = new Graph(4);
+        islands.addEdge(0, 1, 5);
+        islands.addEdge(2, 3, 8);
+        DynamicMST fromTree = new DynamicMST(new KruskalMST().findMST(islands));
+        assertFalse(fromTree.connected(0, 3));
+        int bridge = fromTree.insertEdge(1, 2, 4);
+        assertTrue(fromTree.isTreeEdge(bridge));
+        assertEquals(17, fromTree.getTotalCost());
+        int shortcut = fromTree.insertEdge(0, 3, 6);
+        assertTrue(fromTree.isTreeEdge(shortcut));
+        assertFalse(fromTree.isTreeEdge(1));
+        assertEquals(15, fromTree.getTotalCost());
+        assertEquals(1, fromTree.toMSTResult().getComponentCount());
+
+        // The long cost is exact; the int snapshot refuses to wrap
+        DynamicMST heavy = new DynamicMST(new MSTResult("seed",
+                Collections.singletonList(new Edge(0, 1, Integer.MAX_VALUE)), Integer.MAX_VALUE, 0, 0, 3));
+        heavy.insertEdge(1, 2, Integer.MAX_VALUE);
+        assertEquals(2L * Integer.MAX_VALUE, heavy.getTotalCost());
+        assertThrows(ArithmeticException.class, heavy::toMSTResult);
+    }
+
+    @Test
+    void testDecrementalMSTDeletions() {
+        Random random = new Random(23);
+        int vertices = 300;
+        Graph graph = Graph.randomConnected(vertices, 1200, 50, random);
+        DecrementalMST closures = new DecrementalMST(graph, new KruskalMST().findMST(graph));
+
+        List<Integer> open = new ArrayList<>();
+        for (int e = 0; e < graph.getEdgesCount(); e++) open.add(e);
+        Collections.shuffle(open, random);
+
+        for (int step = 1; step <= 900; step++) {
+            int closed = open.remove(open.size() - 1);
+            boolean wasTree = closures.isTreeEdge(closed);
+            int expectedReplacement = wasTree ? closures.getReplacement(closed) : DecrementalMST.NONE;
+            assertEquals(expectedReplacement, closures.deleteEdge(closed));
+            assertTrue(closures.isDeleted(closed));
+            assertFalse(closures.isTreeEdge(closed));
+
+            if (step % 50 == 0) {
+                // Remaining edges in index order, so Kruskal breaks ties the same way
+                List<Integer> remaining = new ArrayList<>(open);
+                Collections.sort(remaining);
+                Graph rebuilt = new Graph(vertices);
+                for (int e : remaining) {
+                    rebuilt.addEdge(graph.getEdgeSource(e), graph.getEdgeDestination(e), graph.getEdgeWeight(e));
+                }
+                MSTResult expected = new KruskalMST().findMST(rebuilt);
+                assertEquals(expected.getTotalCost(), closures.getTotalCost());
+                assertEquals(expected.getComponentCount(), closures.getComponentCount());
+                assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(closures.getTreeEdges()));
+            }
+        }
+        int alreadyClosed = open.isEmpty() ? 0 : graph.getEdgesCount() - 1;
+        if (!closures.isDeleted(alreadyClosed)) closures.deleteEdge(alreadyClosed);
+        assertThrows(IllegalArgumentException.class, () -> closures.deleteEdge(alreadyClosed));
+        assertThrows(IllegalArgumentException.class, () -> closures.deleteEdge(-1));
+
+        // Costs past int range stay exact in getTotalCost and are not wrapped in the snapshot
+        Graph heavyGraph = new Graph(3);
+        heavyGraph.addEdge(0, 1, Integer.MAX_VALUE);
+        heavyGraph.addEdge(1, 2, Integer.MAX_VALUE);
+        DecrementalMST heavy = new DecrementalMST(heavyGraph, new MSTResult("seed",
+                heavyGraph.getEdgesList(), Integer.MAX_VALUE, 0, 0, 3));
+        assertEquals(2L * Integer.MAX_VALUE, heavy.getTotalCost());
+        assertThrows(ArithmeticException.class, heavy::toMSTResult);
+
+        // A non-tree edge that no replacement uses leaves the index untouched
+        Graph square = new Graph(4);
+        square.addEdge(0, 1, 1);
+        square.addEdge(1, 2, 1);
+        square.addEdge(2, 3, 1);
+        square.addEdge(3, 0, 5);
+        square.addEdge(0, 2, 9);
+        DecrementalMST small = new DecrementalMST(square, new KruskalMST().findMST(square));
+        assertEquals(3, small.getReplacement(0));
+        assertEquals(1, small.getIndexBuildCount());
+        assertEquals(DecrementalMST.NONE, small.deleteEdge(4));
+        assertEquals(3, small.deleteEdge(0));
+        assertEquals(1, small.getIndexBuildCount());
+        assertEquals(7, small.getTotalCost());
+        assertEquals(DecrementalMST.NONE, small.deleteEdge(3));
+        assertEquals(2, small.getComponentCount());
+    }
+
+    @Test
+    void testSensitivityMatchesRecomputation() {
+        Random random = new Random(29);
+        Graph base = Graph.randomConnected(60, 150, 20, random);
+        Graph graph = new Graph(62);
+        for (int e = 0; e < base.getEdgesCount(); e++) {
+            graph.addEdge(base.getEdgeSource(e), base.getEdgeDestination(e), base.getEdgeWeight(e));
+        }
+        graph.addEdge(60, 61, 7);  // bridge on its own component
+        graph.addEdge(3, 3, 1);    // self-loop
+        MSTResult mst = new KruskalMST().findMST(graph);
+        MSTSensitivity sensitivity = new MSTSensitivity(graph, mst);
+        assertEquals(mst.getTotalCost(), sensitivity.getTotalCost());
+
+        for (int e = 0; e < graph.getEdgesCount(); e++) {
+            int weight = graph.getEdgeWeight(e);
+            MSTResult without = new KruskalMST().findMST(reweighted(graph, e, null));
+            if (sensitivity.isBridge(e)) {
+                assertEquals(mst.getComponentCount() + 1, without.getComponentCount());
+                int bridge = e;
+                assertThrows(IllegalStateException.class, () -> sensitivity.getRemovalCostIncrease(bridge));
+                continue;
+            }
+            assertEquals(without.getTotalCost() - mst.getTotalCost(), sensitivity.getRemovalCostIncrease(e));
+
+            // At the bound the current forest ties with the best one; one step past it loses
+            if (sensitivity.isTreeEdge(e)) {
+                int bound = sensitivity.getMaxWeight(e);
+                assertEquals(mst.getTotalCost() + bound - weight,
+                        new KruskalMST().findMST(reweighted(graph, e, bound)).getTotalCost());
+                assertTrue(new KruskalMST().findMST(reweighted(graph, e, bound + 1)).getTotalCost()
+                        < mst.getTotalCost() + bound + 1 - weight);
+            } else if (sensitivity.getSwapEdge(e) != MSTSensitivity.NONE) {
+                int bound = sensitivity.getMinWeight(e);
+                assertEquals(mst.getTotalCost(),
+                        new KruskalMST().findMST(reweighted(graph, e, bound)).getTotalCost());
+                assertTrue(new KruskalMST().findMST(reweighted(graph, e, bound - 1)).getTotalCost()
+                        < mst.getTotalCost());
+            } else {
+                assertEquals(Integer.MIN_VALUE, sensitivity.getMinWeight(e));
+            }
+        }
+    }
+
+    // Copy of graph with edge e set to the given weight, or dropped if null
+    private Graph reweighted(Graph graph, int e, Integer weight) {
+        Graph copy = new Graph(graph.getVerticesCount());
+        for (int i = 0; i < graph.getEdgesCount(); i++) {
+            if (i == e && weight == null) continue;
+            copy.addEdge(graph.getEdgeSource(i), graph.getEdgeDestination(i),
+                    i == e ? weight : graph.getEdgeWeight(i));
+        }
+        return copy;
+    }
+
+    @Test
+    void testBottleneckPathIndex() {
+        Graph graph = createTestGraph();
+        BottleneckPathIndex small = new BottleneckPathIndex(new KruskalMST().findMST(graph));
+        assertEquals(Integer.MIN_VALUE, small.bottleneck(2, 2));
+        for (int u = 0; u < graph.getVerticesCount(); u++) {
+            for (int v = 0; v < graph.getVerticesCount(); v++) {
+                assertEquals(small.bottleneck(u, v), small.bottleneck(v, u));
+            }
+        }
+
+        // Two random trees plus an isolated vertex, checked against binary lifting
+        Random random = new Random(31);
+        Graph forest = new Graph(301);
+        Graph first = Graph.randomConnected(150, 600, 40, random);
+        Graph second = Graph.randomConnected(150, 600, 40, random);
+        for (int e = 0; e < first.getEdgesCount(); e++) {
+            forest.addEdge(first.getEdgeSource(e), first.getEdgeDestination(e), first.getEdgeWeight(e));
+            forest.addEdge(150 + second.getEdgeSource(e), 150 + second.getEdgeDestination(e), second.getEdgeWeight(e));
+        }
+        MSTResult mst = new KruskalMST().findMST(forest);
+        BottleneckPathIndex index = new BottleneckPathIndex(mst);
+
+        int treeEdges = mst.getMstEdgesCount();
+        int[] sources = new int[treeEdges];
+        int[] destinations = new int[treeEdges];
+        long[] weights = new long[treeEdges];
+        for (int i = 0; i < treeEdges; i++) {
+            Edge edge = mst.getMstEdges().get(i);
+            sources[i] = edge.getSource();
+            destinations[i] = edge.getDestination();
+            weights[i] = edge.getWeight();
+        }
+        ForestPathMax expected = new ForestPathMax(301, sources, destinations, weights, treeEdges);
+
+        for (int u = 0; u < 301; u++) {
+            for (int v = 0; v < 301; v++) {
+                long max = expected.pathMax(u, v);
+                if (u == v) {
+                    assertEquals(Integer.MIN_VALUE, index.bottleneck(u, v));
+                } else if (max == ForestPathMax.NO_PATH) {
+                    assertFalse(index.connected(u, v));
+                    assertEquals(BottleneckPathIndex.NO_PATH, index.bottleneck(u, v));
+                } else {
+                    assertEquals(max, index.bottleneck(u, v));
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> index.bottleneck(0, 301));
+    }
+
+    @Test
+    void testEuclideanMSTMatchesCompleteGraph() {
+        Random random = new Random(37);
+        int vertices = 400;
+        double[] x = new double[vertices];
+        double[] y = new double[vertices];
+        for (int v = 0; v < vertices; v++) {
+            // Clustered grid points give many equal distances and empty cones
+            x[v] = v % 3 == 0 ? 500 * random.nextInt(20) : random.nextDouble() * 10_000;
+            y[v] = v % 3 == 0 ? 500 * random.nextInt(20) : random.nextDouble() * 10_000;
+        }
+        x[1] = x[0];
+        y[1] = y[0];  // duplicate stop
+
+        Graph complete = new Graph(vertices);
+        for (int u = 0; u < vertices; u++) {
+            for (int v = u + 1; v < vertices; v++) {
+                complete.addEdge(u, v, (int) Math.round(Math.hypot(x[u] - x[v], y[u] - y[v])));
+            }
+        }
+        MSTResult expected = new KruskalMST().findMST(complete);
+        MSTResult result = new EuclideanMST().findMST(x, y);
+
+        assertEquals(expected.getTotalCost(), result.getTotalCost());
+        assertTrue(result.isSpanningTree());
+        assertTrue(result.isValidMST(complete));
+
+        // Stops 0.01° apart along a meridian, about 1.11 km; the last two coincide
+        MSTResult geo = new EuclideanMST().findMSTLatLon(new double[]{51.0, 51.01, 51.01},
+                new double[]{71.0, 71.0, 71.0});
+        assertEquals(1112, geo.getTotalCost(), 2);
+        assertEquals(2, JSONProcessor.convertToOutputResult(1, Arrays.asList("A", "B", "C"),
+                geo, geo).kruskal.mst_edges.size());
+        assertEquals(0, new EuclideanMST().findMST(new double[]{3}, new double[]{4}).getMstEdgesCount());
+
+        // Distances beyond int range would wrap to negative weights
+        assertThrows(IllegalArgumentException.class,
+                () -> new EuclideanMST().findMST(new double[]{0, 3e9}, new double[]{0, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new EuclideanMST().findMST(new double[]{0, Double.NaN}, new double[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> Graph.fromEdgeArrays(2,
+                new int[]{0}, new int[]{1}, new int[]{-1}));
+    }
+
+    @Test
+    void testStreamingMSTMatchesKruskal() throws IOException {
+        Random random = new Random(41);
+        Graph graph = Graph.randomConnected(500, 4000, 30, random);
+        StringBuilder text = new StringBuilder("# source destination weight\n");
+        for (int e = 0; e < graph.getEdgesCount(); e++) {
+            text.append(graph.getEdgeSource(e)).append(' ').append(graph.getEdgeDestination(e))
+                    .append('\t').append(graph.getEdgeWeight(e)).append(e % 7 == 0 ? "\r\n\n" : "\n");
+        }
+
+        MSTResult streamed = StreamingMST.findMST(500,
+                new ByteArrayInputStream(text.toString().getBytes()));
+        MSTResult expected = new KruskalMST().findMST(graph);
+        assertEquals(expected.getTotalCost(), streamed.getTotalCost());
+        assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(streamed.getMstEdges()));
+        assertTrue(streamed.isValidMST(graph));
+
+        // Two components and a self-loop; the forest never grows past V - 1 edges
+        StreamingMST small = new StreamingMST(5);
+        assertTrue(small.addEdge(0, 1, 5));
+        assertTrue(small.addEdge(1, 2, 4));
+        assertTrue(small.addEdge(0, 2, 3));
+        assertFalse(small.addEdge(0, 1, 9));
+        assertFalse(small.addEdge(3, 3, 1));
+        assertTrue(small.addEdge(3, 4, 2));
+        assertEquals(9, small.getTotalCost());
+        assertEquals(3, small.getTreeEdgeCount());
+        assertEquals(1, small.getEvictions());
+        assertEquals(2, small.toMSTResult().getComponentCount());
+        assertThrows(IllegalArgumentException.class, () -> small.addEdge(0, 4, -1));
+        assertEquals(3, small.getTreeEdgeCount());
+
+        // A forest cost beyond int range fails instead of wrapping
+        StreamingMST heavy = new StreamingMST(3);
+        heavy.addEdge(0, 1, Integer.MAX_VALUE);
+        heavy.addEdge(1, 2, Integer.MAX_VALUE);
+        assertEquals(2L * Integer.MAX_VALUE, heavy.getTotalCost());
+        assertThrows(ArithmeticException.class, heavy::toMSTResult);
+
+        IOException error = assertThrows(IOException.class, () -> StreamingMST.findMST(3,
+                new ByteArrayInputStream("0 1 2\n1 x 2\n".getBytes())));
+        assertTrue(error.getMessage().contains("line 2"));
+
+        // Bytes of 0x80 and above are data, not the end of the stream
+        MSTResult commented = StreamingMST.findMST(3, new ByteArrayInputStream(
+                "# Borůvka test\n0 1 2\n1 2 3\n".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, commented.getMstEdges().size());
+        assertEquals(5, commented.getTotalCost());
+        error = assertThrows(IOException.class, () -> StreamingMST.findMST(3, new ByteArrayInputStream(
+                "\uFEFF0 1 2\n".getBytes(StandardCharsets.UTF_8))));
+        assertTrue(error.getMessage().contains("line 1"));
+    }
+
+    @Test
+    void testExternalKruskalMatchesKruskal() throws IOException {
+        Random random = new Random(43);
+        Graph graph = Graph.randomConnected(800, 6000, 40, random);
+        MSTResult expected = new KruskalMST().findMST(graph);
+        Path tempDirectory = Files.createTempDirectory("external-kruskal-test");
+        try {
+            // Smallest budget: 1024 edges per run, so six runs go through the merge
+            ExternalKruskalMST external = new ExternalKruskalMST(32 << 10, tempDirectory);
+            MSTResult merged = external.findMST(graph);
+            assertEquals(expected.getTotalCost(), merged.getTotalCost());
+            assertEquals(expected.getMstEdges(), merged.getMstEdges());
+            assertTrue(merged.isValidMST(graph));
+            assertEquals(6, external.getRunCount());
+            assertEquals(0, external.getMergePassCount());
+            assertEquals(6000L * 12, external.getBytesWritten());
+            assertTrue(external.getBytesRead() > 0);
+            try (Stream<Path> files = Files.list(tempDirectory)) {
+                assertEquals(0, files.count());
+            }
+
+            StringBuilder text = new StringBuilder();
+            for (int e = 0; e < graph.getEdgesCount(); e++) {
+                text.append(graph.getEdgeSource(e)).append(' ').append(graph.getEdgeDestination(e))
+                        .append(' ').append(graph.getEdgeWeight(e)).append('\n');
+            }
+            MSTResult streamed = external.findMST(800,
+                    new ByteArrayInputStream(text.toString().getBytes()));
+            assertEquals(expected.getMstEdges(), streamed.getMstEdges());
+
+            // Twelve runs but merge buffers for seven: one pass merges them into two runs first
+            Graph larger = Graph.randomConnected(800, 12_000, 40, random);
+            MSTResult multiPass = external.findMST(larger);
+            assertEquals(new KruskalMST().findMST(larger).getMstEdges(), multiPass.getMstEdges());
+            assertEquals(12, external.getRunCount());
+            assertEquals(1, external.getMergePassCount());
+            assertEquals(2 * 12_000L * 12, external.getBytesWritten());
+            try (Stream<Path> files = Files.list(tempDirectory)) {
+                assertEquals(0, files.count());
+            }
+
+            // Fits in one run: sorted in memory, nothing spilled
+            ExternalKruskalMST inMemory = new ExternalKruskalMST(ExternalKruskalMST.DEFAULT_MEMORY_BUDGET, tempDirectory);
+            assertEquals(expected.getMstEdges(), inMemory.findMST(graph).getMstEdges());
+            assertEquals(0, inMemory.getRunCount());
+            assertEquals(0, inMemory.getBytesWritten());
+            assertThrows(ArithmeticException.class, () -> inMemory.findMST(3, new ByteArrayInputStream(
+                    "0 1 2147483647\n1 2 2147483647\n".getBytes())));
+
+            assertThrows(IllegalArgumentException.class, () -> new ExternalKruskalMST((32 << 10) - 1, tempDirectory));
+        } finally {
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+    @Test
+    void testMSTVerifier() {
+        Random random = new Random(47);
+        Graph random500 = Graph.randomConnected(500, 3000, 20, random);
+        assertTrue(new MSTVerifier(random500, new PrimMST().findMST(random500)).isValid());
+        assertTrue(new MSTVerifier(random500, new KruskalMST().findMST(random500)).isValid());
+        assertTrue(new MSTVerifier(random500, new BoruvkaMST().findMST(random500)).isValid());
+
+        Graph graph = createTestGraph();
+        MSTResult mst = new KruskalMST().findMST(graph);
+        MSTVerifier check = new MSTVerifier(graph, mst);
+        assertTrue(check.isValid());
+        assertNull(check.getFailure());
+        assertEquals(MSTVerifier.NONE, check.getViolatingEdge());
+        assertEquals(graph.getEdgesCount(), check.getQueryCount());
+
+        // Spanning tree with the right edge count but not minimum: 1-3 (5) swapped for 2-3 (8)
+        List<Edge> swapped = new ArrayList<>(mst.getMstEdges());
+        assertTrue(swapped.remove(new Edge(1, 3, 5)));
+        swapped.add(new Edge(2, 3, 8));
+        MSTResult heavier = new MSTResult("swapped", swapped, 16, 0, 0, 6);
+        assertTrue(heavier.isValidMST(graph));
+        MSTVerifier swappedCheck = new MSTVerifier(graph, heavier);
+        assertFalse(swappedCheck.isValid());
+        assertEquals(3, swappedCheck.getViolatingEdge());
+
+        // Missing edge, cycle, foreign edge and a wrong cost
+        List<Edge> missing = new ArrayList<>(mst.getMstEdges());
+        missing.remove(new Edge(1, 3, 5));
+        MSTVerifier missingCheck = new MSTVerifier(graph, new MSTResult("missing", missing, 8, 0, 0, 6));
+        assertFalse(missingCheck.isValid());
+        assertTrue(missingCheck.getFailure().contains("not spanning"));
+
+        List<Edge> cycle = new ArrayList<>(missing);
+        cycle.add(new Edge(0, 1, 4));
+        assertTrue(new MSTVerifier(graph, new MSTResult("cycle", cycle, 12, 0, 0, 6)).getFailure().contains("cycle"));
+
+        List<Edge> foreign = new ArrayList<>(missing);
+        foreign.add(new Edge(0, 5, 1));
+        assertFalse(new MSTVerifier(graph, new MSTResult("foreign", foreign, 9, 0, 0, 6)).isValid());
+
+        assertFalse(new MSTVerifier(graph, new MSTResult("cost", mst.getMstEdges(), 12, 0, 0, 6)).isValid());
+
+        // A minimum spanning forest of a disconnected graph verifies too
+        Graph forest = new Graph(5);
+        forest.addEdge(0, 1, 3);
+        forest.addEdge(1, 2, 1);
+        forest.addEdge(0, 2, 2);
+        forest.addEdge(3, 4, 7);
+        assertTrue(new MSTVerifier(forest, new KruskalMST().findMST(forest)).isValid());
+    }
+
+    @Test
+    void testStreamingJsonReader() throws IOException {
+        Path input = Files.createTempFile("graphs", ".json");
+        try {
+            Files.write(input, ("{\"comment\": {\"skip\": [1, 2]}, \"graphs\": ["
+                    + "{\"id\": 7, \"nodes\": [\"A\", \"B\", \"C\", \"D\"], \"edges\": ["
+                    + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 4},"
+                    + "{\"from\": \"B\", \"to\": \"C\", \"weight\": 1, \"note\": \"ignored\"},"
+                    + "{\"weight\": 2, \"to\": \"A\", \"from\": \"C\"},"
+                    + "{\"from\": \"C\", \"to\": \"D\", \"weight\": 5}]},"
+                    + "{\"edges\": [{\"from\": \"y\", \"to\": \"x\", \"weight\": 3}], \"nodes\": [\"x\", \"y\"], \"id\": 8}"
+                    + "]}").getBytes());
+
+            List<Integer> ids = new ArrayList<>();
+            int count = JSONProcessor.streamInputFile(input.toString(), graphData -> {
+                ids.add(graphData.id);
+                assertTrue(graphData.graph.isCompact());
+            });
+            assertEquals(2, count);
+            assertEquals(Arrays.asList(7, 8), ids);
+
+            List<JSONProcessor.GraphData> graphs = JSONProcessor.readInputFile(input.toString());
+            Graph first = graphs.get(0).graph;
+            List<Map<String, Object>> edges = new ArrayList<>();
+            String[][] expected = {{"A", "B", "4"}, {"B", "C", "1"}, {"C", "A", "2"}, {"C", "D", "5"}};
+            for (String[] edge : expected) {
+                Map<String, Object> data = new HashMap<>();
+                data.put("from", edge[0]);
+                data.put("to", edge[1]);
+                data.put("weight", Integer.parseInt(edge[2]));
+                edges.add(data);
+            }
+            Graph bound = Graph.fromJsonData(graphs.get(0).nodeNames, edges);
+            assertEquals(bound.getEdgesCount(), first.getEdgesCount());
+            for (int e = 0; e < bound.getEdgesCount(); e++) {
+                assertEquals(bound.getEdgeSource(e), first.getEdgeSource(e));
+                assertEquals(bound.getEdgeDestination(e), first.getEdgeDestination(e));
+                assertEquals(bound.getEdgeWeight(e), first.getEdgeWeight(e));
+            }
+            assertEquals(8, new KruskalMST().findMST(first).getTotalCost());
+
+            // Edges listed before the nodes are resolved once the nodes arrive
+            Graph second = graphs.get(1).graph;
+            assertEquals(1, second.getEdgeSource(0));
+            assertEquals(0, second.getEdgeDestination(0));
+
+            Files.write(input, ("{\"graphs\": [{\"id\": 1, \"nodes\": [\"A\"], \"edges\": ["
+                    + "{\"from\": \"A\", \"to\": \"Z\", \"weight\": 1}]}]}").getBytes());
+            IOException error = assertThrows(IOException.class,
+                    () -> JSONProcessor.readInputFile(input.toString()));
+            assertTrue(error.getMessage().contains("Unknown node \"Z\""));
+
+            // Non-integer weights and ids are rejected, not read as 0
+            for (String value : new String[]{"\"7\"", "true", "{}", "2.5"}) {
+                Files.write(input, ("{\"graphs\": [{\"id\": 1, \"nodes\": [\"A\", \"B\"], \"edges\": ["
+                        + "{\"from\": \"A\", \"to\": \"B\", \"weight\": " + value + "}]}]}").getBytes());
+                error = assertThrows(IOException.class, () -> JSONProcessor.readInputFile(input.toString()));
+                assertTrue(error.getMessage().contains("\"weight\""), value);
+            }
+            Files.write(input, "{\"graphs\": [{\"id\": \"one\", \"nodes\": [], \"edges\": []}]}".getBytes());
+            error = assertThrows(IOException.class, () -> JSONProcessor.readInputFile(input.toString()));
+            assertTrue(error.getMessage().contains("\"id\""));
+        } finally {
+            Files.deleteIfExists(input);
+        }
+    }
+
+    @Test
+    void testStreamingJsonWriter() throws IOException {
+        List<JSONProcessor.OutputResult> results = new ArrayList<>();
+        List<String> names = Arrays.asList("A", "B", "C", "D", "E", "F");
+        for (int id = 1; id <= 2; id++) {
+            Graph graph = createTestGraph();
+            MSTResult mst = new KruskalMST().findMST(graph);
+            JSONProcessor.OutputResult result = JSONProcessor.convertToOutputResult(id, names, mst, mst);
+            result.input_stats.edges = graph.getEdgesCount();
+            result.sensitivity = JSONProcessor.convertSensitivity(graph, names, new MSTSensitivity(graph, mst));
+            results.add(result);
+        }
+
+        Path streamed = Files.createTempFile("streamed", ".json");
+        Path bound = Files.createTempFile("bound", ".json");
+        try {
+            try (JSONProcessor.OutputWriter writer = new JSONProcessor.OutputWriter(streamed.toString())) {
+                for (JSONProcessor.OutputResult result : results) writer.write(result);
+            }
+            JSONProcessor.writeOutputFile(bound.toString(), results);
+
+            ObjectMapper mapper = new ObjectMapper();
+            assertEquals(mapper.readTree(bound.toFile()), mapper.readTree(streamed.toFile()));
+            assertEquals(2, mapper.readTree(streamed.toFile()).get("results").size());
+        } finally {
+            Files.deleteIfExists(streamed);
+            Files.deleteIfExists(bound);
+        }
+    }
+
     private Graph createTestGraph() {
         Graph graph = new Graph(6);
         graph.addEdge(0, 1, 4);
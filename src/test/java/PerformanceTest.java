@@ -2,7 +2,10 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class PerformanceTest {
 
@@ -80,6 +83,50 @@ public class PerformanceTest {
                 "Kruskal's operations count should be positive");
     }
 
+    @Test
+    void testParallelKruskalMatchesSequential() {
+        Graph graph = Graph.randomConnected(5000, 40_000, 300, new Random(11));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            KruskalMST parallel = new KruskalMST(KruskalMST.Variant.PARALLEL, pool);
+            MSTResult expected = new KruskalMST().findMST(graph);
+
+            for (int i = 0; i < 3; i++) {
+                MSTResult result = parallel.findMST(graph);
+                assertEquals(expected.getTotalCost(), result.getTotalCost(),
+                        "Parallel Kruskal should find the same MST cost");
+                assertEquals(expected.getMstEdges(), result.getMstEdges(),
+                        "Parallel Kruskal should pick the same edges in the same order");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelPrimMatchesKruskal() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PrimMST parallel = new PrimMST(PrimMST.Variant.PARALLEL, pool);
+            Random random = new Random(13);
+            for (int i = 0; i < 5; i++) {
+                // Narrow weights force plenty of ties between fragments
+                Graph graph = Graph.randomConnected(3000, 12_000, i == 0 ? 5 : 300, random);
+                if (i % 2 == 0) graph.compact();
+                MSTResult expected = new KruskalMST().findMST(graph);
+                MSTResult result = parallel.findMST(graph);
+
+                assertEquals(expected.getTotalCost(), result.getTotalCost(),
+                        "Parallel Prim should find the same MST cost as Kruskal");
+                assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(result.getMstEdges()),
+                        "Parallel Prim should pick the same edges as Kruskal");
+                assertTrue(result.isValidMST(graph));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     private Graph createPerformanceTestGraph() {
         Graph graph = new Graph(10);
         // Create a consistent test graph